@@ -0,0 +1,56 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import lt.itsvaidas.annotationCommandAPI.anotations.Argument;
+import lt.itsvaidas.annotationCommandAPI.anotations.Command;
+import lt.itsvaidas.annotationCommandAPI.anotations.Path;
+import lt.itsvaidas.annotationCommandAPI.dtos.Sentence;
+import org.bukkit.command.CommandSender;
+
+@Command(
+        name = "bench",
+        description = "Benchmark command"
+)
+public class BenchCommand {
+
+    public Object last;
+
+    @Path(name = "int <Value>", description = "Integer argument")
+    public void integer(CommandSender sender, int value) {
+        last = value;
+    }
+
+    @Path(name = "double <Value>", description = "Double argument")
+    public void decimal(CommandSender sender, double value) {
+        last = value;
+    }
+
+    @Path(name = "boolean <Value>", description = "Boolean argument")
+    public void bool(CommandSender sender, boolean value) {
+        last = value;
+    }
+
+    @Path(name = "string <Value>", description = "String argument")
+    public void string(CommandSender sender, String value) {
+        last = value;
+    }
+
+    @Path(name = "sentence <Value>", description = "Sentence argument")
+    public void sentence(CommandSender sender, Sentence value) {
+        last = value;
+    }
+
+    @Path(name = "enum <Value>", description = "Enum argument")
+    public void enumeration(CommandSender sender, Values.Small value) {
+        last = value;
+    }
+
+    @Path(name = "indexed <Value>", description = "Registry-sized indexed argument")
+    public void indexed(CommandSender sender, Values.Large value) {
+        last = value;
+    }
+
+    @Path(name = "streamed <Value>", description = "Registry-sized provider argument")
+    public void streamed(CommandSender sender, @Argument(provider = Values.LargeProvider.class) String value) {
+        last = value;
+    }
+}
@@ -0,0 +1,53 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executing a pre-parsed command per argument type, which measures argument resolution and handler invocation
+ * without Brigadier's parsing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DispatchBenchmark {
+
+    private static final Map<String, String> inputs = Map.of(
+            "int", "bench int 42",
+            "double", "bench double 4.2",
+            "boolean", "bench boolean true",
+            "string", "bench string value",
+            "sentence", "bench sentence a longer message with several words",
+            "enum", "bench enum DELTA",
+            "indexed", "bench indexed value_0750",
+            "streamed", "bench streamed value_0750"
+    );
+
+    @Param({"int", "double", "boolean", "string", "sentence", "enum", "indexed", "streamed"})
+    public String argument;
+
+    private Environment environment;
+    private ParseResults<CommandSourceStack> parsed;
+
+    @Setup
+    public void setup() {
+        Values.register();
+        environment = new Environment(new BenchCommand());
+        parsed = environment.dispatcher.parse(inputs.get(argument), environment.source);
+    }
+
+    @Benchmark
+    public int execute() throws CommandSyntaxException {
+        return environment.dispatcher.execute(parsed);
+    }
+
+    @Benchmark
+    public int parseAndExecute() throws CommandSyntaxException {
+        return environment.dispatcher.execute(inputs.get(argument), environment.source);
+    }
+}
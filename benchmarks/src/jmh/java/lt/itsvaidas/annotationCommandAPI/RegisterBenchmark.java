@@ -0,0 +1,103 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import lt.itsvaidas.annotationCommandAPI.descriptors.CommandDescriptors;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the command tree of a class with 200 paths, from its descriptor to the Brigadier nodes, and finding that
+ * descriptor. {@code LargeCommand} is described by the annotation processor and {@code ScannedLargeCommand} is
+ * scanned; both are written by the {@code generateLargeCommands} task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegisterBenchmark {
+
+    @Setup
+    public void setup() {
+        StandIn.installServer();
+        Values.register();
+    }
+
+    @Benchmark
+    public Object registerLarge() {
+        CommandRegister register = new CommandRegister(StandIn.plugin(), null);
+        register.register(new LargeCommand());
+        return register.getNodes();
+    }
+
+    @Benchmark
+    public Object registerScanned() {
+        CommandRegister register = new CommandRegister(StandIn.plugin(), null);
+        register.register(new ScannedLargeCommand());
+        return register.getNodes();
+    }
+
+    @Benchmark
+    public Object registerAll() {
+        CommandRegister register = new CommandRegister(StandIn.plugin(), null);
+        register.registerAll(java.util.List.of(new LargeCommand(), new BenchCommand()));
+        return register.getNodes();
+    }
+
+    /**
+     * Descriptors are cached per class, so finding one is measured on a fresh copy of the class every invocation.
+     */
+    @Benchmark
+    public Object describeGenerated(FreshClasses classes) {
+        return CommandDescriptors.of(classes.large);
+    }
+
+    @Benchmark
+    public Object describeScanned(FreshClasses classes) {
+        return CommandDescriptors.of(classes.scanned);
+    }
+
+    @State(Scope.Thread)
+    public static class FreshClasses {
+        Class<?> large;
+        Class<?> scanned;
+
+        @Setup(Level.Invocation)
+        public void load() throws ClassNotFoundException {
+            large = new FreshLoader(LargeCommand.class.getName()).loadClass(LargeCommand.class.getName());
+            scanned = new FreshLoader(ScannedLargeCommand.class.getName()).loadClass(ScannedLargeCommand.class.getName());
+        }
+    }
+
+    /**
+     * Defines its own copy of a class and of the classes nested in or generated for it, delegating everything else.
+     */
+    private static final class FreshLoader extends ClassLoader {
+        private final String name;
+
+        private FreshLoader(String name) {
+            super(RegisterBenchmark.class.getClassLoader());
+            this.name = name;
+        }
+
+        @Override
+        protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException {
+            if (!className.equals(name) && !className.startsWith(name + "$")) {
+                return super.loadClass(className, resolve);
+            }
+
+            synchronized (getClassLoadingLock(className)) {
+                Class<?> loaded = findLoadedClass(className);
+                if (loaded != null) return loaded;
+
+                try (InputStream in = getParent().getResourceAsStream(className.replace('.', '/') + ".class")) {
+                    if (in == null) throw new ClassNotFoundException(className);
+                    byte[] bytes = in.readAllBytes();
+                    return defineClass(className, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(className, e);
+                }
+            }
+        }
+    }
+}
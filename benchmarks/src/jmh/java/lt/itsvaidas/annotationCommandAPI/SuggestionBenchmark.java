@@ -0,0 +1,39 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.suggestion.Suggestions;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestion latency over an 8 value enum, a 1500 value indexed set and the same set streamed from a provider,
+ * with and without typed input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestionBenchmark {
+
+    @Param({"enum", "indexed", "streamed"})
+    public String argument;
+
+    @Param({"", "value_07", "d"})
+    public String typed;
+
+    private Environment environment;
+    private ParseResults<CommandSourceStack> parsed;
+
+    @Setup
+    public void setup() {
+        Values.register();
+        environment = new Environment(new BenchCommand());
+        parsed = environment.dispatcher.parse("bench " + argument + " " + typed, environment.source);
+    }
+
+    @Benchmark
+    public Suggestions suggest() {
+        return environment.dispatcher.getCompletionSuggestions(parsed).join();
+    }
+}
@@ -0,0 +1,48 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Argument value sets of the benchmarks: a small enum and a set about the size of the item registry.
+ */
+final class Values {
+
+    static final int largeSize = 1500;
+    static final String[] largeNames = IntStream.range(0, largeSize).mapToObj(i -> String.format("value_%04d", i)).toArray(String[]::new);
+
+    private static final Map<String, Large> large = Arrays.stream(largeNames).map(Large::new).collect(Collectors.toMap(Large::name, Function.identity()));
+    private static final SuggestionIndex largeIndex = SuggestionIndex.of(Arrays.stream(largeNames));
+
+    private Values() {}
+
+    static void register() {
+        ArgumentAdapters.register(Large.class, ArgumentAdapters.indexed(StringArgumentType.string(), (context, argument) -> {
+            Large value = large.get(context.getArgument(argument, String.class));
+            if (value == null)
+                throw new CommandExecuteException("Incorrect argument provided");
+            return value;
+        }, source -> largeIndex));
+    }
+
+    public enum Small {
+        ALPHA, BRAVO, CHARLIE, DELTA, ECHO, FOXTROT, GOLF, HOTEL
+    }
+
+    public record Large(String name) {}
+
+    public static class LargeProvider extends ArgumentProvider {
+        @Override
+        protected Stream<String> provide(CommandSourceStack source) {
+            return Arrays.stream(largeNames);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+
+/**
+ * A dispatcher holding the commands built by a {@link CommandRegister} that is not attached to a server. Aliases
+ * redirect to their command's node, the way the server registers them.
+ */
+final class Environment {
+
+    static {
+        StandIn.installServer();
+    }
+
+    final CommandRegister register = new CommandRegister(StandIn.plugin(), null);
+    final CommandDispatcher<CommandSourceStack> dispatcher = new CommandDispatcher<>();
+    final CommandSourceStack source = StandIn.source(StandIn.console());
+
+    Environment(Object... commands) {
+        for (Object command : commands) {
+            register.register(command);
+        }
+        for (LiteralCommandNode<CommandSourceStack> node : register.getNodes()) {
+            dispatcher.getRoot().addChild(node);
+        }
+        register.getAliases().forEach((alias, node) -> dispatcher.getRoot().addChild(LiteralArgumentBuilder.<CommandSourceStack>literal(alias)
+                .requires(node.getRequirement())
+                .executes(node.getCommand())
+                .redirect(node)
+                .build()));
+    }
+}
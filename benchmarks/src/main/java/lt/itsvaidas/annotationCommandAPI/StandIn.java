@@ -0,0 +1,132 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Lightweight stand-ins for the server, plugin, senders and command source, so commands can be built and dispatched
+ * without a running server. Every method answers a fixed value for its return type unless overridden by name.
+ */
+final class StandIn {
+
+    private static final Logger logger = Logger.getLogger("AnnotatedCommandAPI Benchmarks");
+    private static final Map<String, Player> players = new ConcurrentHashMap<>();
+
+    private StandIn() {}
+
+    static synchronized void installServer() {
+        if (Bukkit.getServer() != null) return;
+
+        Answer player = arguments -> arguments[0] instanceof String name ? players.get(name.toLowerCase(Locale.ROOT)) : null;
+        Bukkit.setServer(proxy(Server.class, Map.of(
+                "isPrimaryThread", true,
+                "getOnlinePlayers", (Answer) arguments -> List.copyOf(players.values()),
+                "getPlayer", player,
+                "getPlayerExact", player
+        )));
+    }
+
+    /**
+     * Drops the log records of the stand-in plugin, such as the errors of handlers running against stand-ins.
+     */
+    static void silenceLogger() {
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.OFF);
+    }
+
+    static Plugin plugin() {
+        return proxy(Plugin.class, Map.of("getName", "Benchmarks"));
+    }
+
+    static CommandSender console() {
+        return proxy(ConsoleCommandSender.class, Map.of("getName", "CONSOLE", "hasPermission", true, "isOp", true));
+    }
+
+    static CommandSender sender(String name, Predicate<String> permissions) {
+        return proxy(CommandSender.class, Map.of("getName", name, "hasPermission", permission(permissions)));
+    }
+
+    /**
+     * Creates an online player. Player arguments and the server's player lookups resolve to it.
+     */
+    static Player player(String name, Predicate<String> permissions) {
+        Player player = proxy(Player.class, Map.of(
+                "getName", name,
+                "getUniqueId", UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8)),
+                "hasPermission", permission(permissions),
+                "isOnline", true
+        ));
+        players.put(name.toLowerCase(Locale.ROOT), player);
+        return player;
+    }
+
+    static CommandSourceStack source(CommandSender sender) {
+        return proxy(CommandSourceStack.class, Map.of("getSender", sender));
+    }
+
+    private static Answer permission(Predicate<String> permissions) {
+        return arguments -> arguments[0] instanceof String permission ? permissions.test(permission) : true;
+    }
+
+    private static <T> T proxy(Class<T> type, Map<String, Object> answers) {
+        Object proxy = Proxy.newProxyInstance(StandIn.class.getClassLoader(), new Class<?>[]{type}, (self, method, arguments) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return self == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return "StandIn[" + type.getSimpleName() + "]";
+            }
+
+            Object answer = answers.get(method.getName());
+            if (answer instanceof Answer function) {
+                answer = function.answer(arguments != null ? arguments : new Object[0]);
+            }
+            return answer != null ? answer : defaultValue(method.getReturnType());
+        });
+        return type.cast(proxy);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == String.class) return "";
+        if (type == Logger.class) return logger;
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        if (type == Stream.class) return Stream.empty();
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(Object[] arguments);
+    }
+}
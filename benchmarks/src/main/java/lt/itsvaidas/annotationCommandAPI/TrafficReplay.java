@@ -0,0 +1,145 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import lt.itsvaidas.annotationCommandAPI.enums.FailureCause;
+import lt.itsvaidas.annotationCommandAPI.metrics.CommandMetrics;
+import lt.itsvaidas.annotationCommandAPI.metrics.LatencyHistogram;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a {@link TrafficRecording} against command classes built outside a server, and reports throughput and
+ * latency percentiles next to the latencies recorded on the server. Handlers run against stand-ins, so their
+ * errors are not logged but counted by {@link FailureCause}, apart from the input that failed to parse.
+ * <p>
+ * Usage: {@code TrafficReplay <recording> <command class>... [--warmup N] [--iterations N]}. Command classes need a
+ * no-arg constructor and must be on the classpath.
+ */
+public final class TrafficReplay {
+
+    private TrafficReplay() {}
+
+    public static void main(String[] args) throws Exception {
+        int warmup = 3;
+        int iterations = 5;
+        String file = null;
+        List<Object> commands = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                default -> {
+                    if (file == null) {
+                        file = args[i];
+                    } else {
+                        commands.add(Class.forName(args[i]).getDeclaredConstructor().newInstance());
+                    }
+                }
+            }
+        }
+
+        if (file == null || commands.isEmpty()) {
+            System.err.println("Usage: TrafficReplay <recording> <command class>... [--warmup N] [--iterations N]");
+            System.exit(1);
+            return;
+        }
+
+        TrafficRecording recording = TrafficRecording.read(Paths.get(file));
+        StandIn.silenceLogger();
+        CommandMetrics.enable();
+        Environment environment = new Environment(commands.toArray());
+
+        Map<TrafficRecording.Sender, CommandSourceStack> sources = new HashMap<>();
+        for (TrafficRecording.Sender sender : recording.getSenders()) {
+            sources.put(sender, StandIn.source(switch (sender.type()) {
+                case PLAYER -> StandIn.player(sender.name(), sender.permissions()::contains);
+                case CONSOLE -> StandIn.console();
+                case OTHER -> StandIn.sender(sender.name(), sender.permissions()::contains);
+            }));
+        }
+
+        List<TrafficRecording.Entry> entries = recording.getEntries();
+        System.out.printf(Locale.ROOT, "Replaying %d requests from %d senders%n", entries.size(), sources.size());
+
+        for (int i = 0; i < warmup; i++) {
+            replay(environment, sources, entries, null);
+        }
+
+        CommandMetrics.reset();
+        Map<TrafficRecording.Kind, LatencyHistogram> replayed = new HashMap<>();
+        int failed = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            failed += replay(environment, sources, entries, replayed);
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Map<TrafficRecording.Kind, LatencyHistogram> recorded = new HashMap<>();
+        for (TrafficRecording.Entry entry : entries) {
+            recorded.computeIfAbsent(entry.kind(), kind -> new LatencyHistogram()).record(entry.durationNanos());
+        }
+
+        long total = (long) entries.size() * iterations;
+        System.out.printf(Locale.ROOT, "%d requests in %.1f ms, %.0f requests/s, %d failed to parse%n",
+                total, elapsed / 1_000_000.0, total / (elapsed / 1_000_000_000.0), failed);
+        System.out.printf(Locale.ROOT, "Failed executions: %s%n", failures());
+        for (TrafficRecording.Kind kind : TrafficRecording.Kind.values()) {
+            if (!recorded.containsKey(kind)) continue;
+            System.out.printf(Locale.ROOT, "%-8s replayed %s%n", kind, percentiles(replayed.get(kind)));
+            System.out.printf(Locale.ROOT, "%-8s recorded %s%n", kind, percentiles(recorded.get(kind)));
+        }
+    }
+
+    private static int replay(Environment environment, Map<TrafficRecording.Sender, CommandSourceStack> sources,
+                              List<TrafficRecording.Entry> entries, Map<TrafficRecording.Kind, LatencyHistogram> latencies) {
+        int failed = 0;
+        for (TrafficRecording.Entry entry : entries) {
+            CommandSourceStack source = sources.get(entry.sender());
+            long start = System.nanoTime();
+            try {
+                if (entry.kind() == TrafficRecording.Kind.EXECUTE) {
+                    environment.dispatcher.execute(entry.input(), source);
+                } else {
+                    environment.dispatcher.getCompletionSuggestions(environment.dispatcher.parse(entry.input(), source)).join();
+                }
+            } catch (CommandSyntaxException e) {
+                failed++;
+            }
+            if (latencies != null) {
+                latencies.computeIfAbsent(entry.kind(), kind -> new LatencyHistogram()).record(System.nanoTime() - start);
+            }
+        }
+        return failed;
+    }
+
+    private static String failures() {
+        StringJoiner failures = new StringJoiner(", ");
+        for (FailureCause cause : FailureCause.values()) {
+            long count = CommandMetrics.getPaths().stream().mapToLong(metrics -> metrics.getFailures(cause)).sum();
+            if (count > 0) failures.add(cause + " " + count);
+        }
+        return failures.length() > 0 ? failures.toString() : "none";
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        if (histogram == null) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "n=%d mean %s p50 %s p90 %s p99 %s p99.9 %s", histogram.getCount(),
+                micros(histogram.getMeanNanos()), micros(histogram.getPercentileNanos(50)), micros(histogram.getPercentileNanos(90)),
+                micros(histogram.getPercentileNanos(99)), micros(histogram.getPercentileNanos(99.9)));
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1fus", nanos / (double) TimeUnit.MICROSECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,393 @@
+package lt.itsvaidas.annotationCommandAPI.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.SimpleAnnotationValueVisitor14;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validates {@code @Command}, {@code @Path} and {@code @Argument} usage at compile time and generates a
+ * {@code CommandDescriptor} per command class, so registering it needs no reflective scanning.
+ */
+@SupportedAnnotationTypes({CommandProcessor.COMMAND, CommandProcessor.PATH, CommandProcessor.ARGUMENT})
+public class CommandProcessor extends AbstractProcessor {
+
+    static final String API = "lt.itsvaidas.annotationCommandAPI";
+    static final String COMMAND = API + ".anotations.Command";
+    static final String PATH = API + ".anotations.Path";
+    static final String ARGUMENT = API + ".anotations.Argument";
+    static final String ARGUMENT_PROVIDER = API + ".ArgumentProvider";
+    static final String COMMAND_DESCRIPTOR = API + ".descriptors.CommandDescriptor";
+    static final String PATH_DESCRIPTOR = API + ".descriptors.PathDescriptor";
+    static final String PARAMETER_DESCRIPTOR = API + ".descriptors.ParameterDescriptor";
+    static final String SUFFIX = "$$CommandDescriptor";
+
+    private static final Set<String> SENDER_TYPES = Set.of("org.bukkit.command.CommandSender", "org.bukkit.entity.Player");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement command = processingEnv.getElementUtils().getTypeElement(COMMAND);
+        TypeElement path = processingEnv.getElementUtils().getTypeElement(PATH);
+        TypeElement argument = processingEnv.getElementUtils().getTypeElement(ARGUMENT);
+        if (command == null || path == null || argument == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(path)) {
+            if (find(element.getEnclosingElement(), command) == null) {
+                error(element, "@Path methods must be declared in a class annotated with @Command");
+            }
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(argument)) {
+            validateArgument(element, find(element, argument));
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(command)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Command can only be used on classes");
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            if (validateCommand(type, command, path)) {
+                generate(type, command, path, argument);
+            }
+        }
+
+        return false;
+    }
+
+    private boolean validateCommand(TypeElement type, TypeElement command, TypeElement path) {
+        boolean valid = true;
+
+        if (isPrivate(type)) {
+            error(type, "@Command classes must not be private");
+            return false;
+        }
+
+        Set<String> names = new HashSet<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            AnnotationMirror mirror = find(method, path);
+            if (mirror == null) continue;
+
+            String name = (String) value(mirror, "name").getValue();
+            if (!names.add(name.toLowerCase())) {
+                error(method, "Duplicate @Path name '" + name + "' in " + type.getSimpleName());
+                valid = false;
+            }
+
+            if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) {
+                error(method, "@Path methods must be non-private instance methods");
+                valid = false;
+                continue;
+            }
+
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (parameters.isEmpty() || !SENDER_TYPES.contains(erasedName(parameters.get(0).asType()))) {
+                error(method, "The first parameter of a @Path method must be a CommandSender or a Player");
+                valid = false;
+                continue;
+            }
+
+            valid &= validatePathName(method, name, parameters.size() - 1);
+
+            if (executionPolicy(mirror, find(type, command)).equals("ARGUMENT") && parameters.stream().skip(1).noneMatch(p -> isRegionType(p.asType()))) {
+                error(method, "@Path '" + name + "' runs on the region of its argument but takes no Entity, Location or World argument");
+                valid = false;
+            }
+        }
+
+        return valid;
+    }
+
+    private String executionPolicy(AnnotationMirror path, AnnotationMirror command) {
+        String execution = ((VariableElement) value(path, "execution").getValue()).getSimpleName().toString();
+        if (!execution.equals("DEFAULT") || command == null) {
+            return execution;
+        }
+        return ((VariableElement) value(command, "execution").getValue()).getSimpleName().toString();
+    }
+
+    private boolean isRegionType(TypeMirror type) {
+        String name = erasedName(type);
+        if (name.equals("org.bukkit.Location") || name.equals("org.bukkit.World")) {
+            return true;
+        }
+
+        TypeElement entity = processingEnv.getElementUtils().getTypeElement("org.bukkit.entity.Entity");
+        return entity != null && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type), entity.asType());
+    }
+
+    private boolean validatePathName(ExecutableElement method, String name, int parameters) {
+        if (name.isEmpty()) {
+            if (parameters > 0) {
+                warning(method, "The root @Path has parameters but no arguments, they will always be empty");
+            }
+            return true;
+        }
+
+        int arguments = 0;
+        boolean optional = false;
+        for (String segment : name.split(" ", -1)) {
+            if (segment.isEmpty()) {
+                error(method, "@Path '" + name + "' contains an empty segment");
+                return false;
+            }
+
+            boolean required = segment.startsWith("<");
+            boolean isOptional = segment.startsWith("[");
+            if ((required && !segment.endsWith(">")) || (isOptional && !segment.endsWith("]")) || ((required || isOptional) && segment.length() < 3)) {
+                error(method, "@Path '" + name + "' has a malformed argument '" + segment + "'");
+                return false;
+            }
+
+            if (optional && !isOptional) {
+                error(method, "@Path '" + name + "' has '" + segment + "' after an optional argument");
+                return false;
+            }
+
+            optional |= isOptional;
+            if (required || isOptional) arguments++;
+        }
+
+        if (arguments > parameters) {
+            error(method, "@Path '" + name + "' declares " + arguments + " arguments but the method only takes " + parameters);
+            return false;
+        }
+        if (arguments < parameters) {
+            warning(method, "@Path '" + name + "' declares " + arguments + " arguments but the method takes " + parameters + ", the rest will always be empty");
+        }
+        return true;
+    }
+
+    private void validateArgument(Element parameter, AnnotationMirror argument) {
+        if (argument == null) return;
+
+        TypeMirror provider = (TypeMirror) value(argument, "provider").getValue();
+        TypeElement providerType = (TypeElement) processingEnv.getTypeUtils().asElement(provider);
+        if (providerType == null) return;
+
+        if (providerType.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(parameter, "Argument provider " + providerType.getQualifiedName() + " must not be abstract");
+            return;
+        }
+
+        boolean hasNoArgConstructor = ElementFilter.constructorsIn(providerType.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty());
+        if (!hasNoArgConstructor) {
+            error(parameter, "Argument provider " + providerType.getQualifiedName() + " must have a no-arg constructor");
+        }
+        if (providerType.getNestingKind().isNested() && !providerType.getModifiers().contains(Modifier.STATIC)) {
+            error(parameter, "Argument provider " + providerType.getQualifiedName() + " must be a static class");
+        }
+    }
+
+    private void generate(TypeElement type, TypeElement command, TypeElement path, TypeElement argument) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(CommandProcessor.class.getName()).append("\")\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(className).append(" implements ").append(COMMAND_DESCRIPTOR).append(" {\n\n");
+
+        source.append("    private static final ").append(COMMAND).append(" COMMAND = ")
+                .append(annotation(find(type, command), command, "    ")).append(";\n\n");
+
+        List<String> paths = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            AnnotationMirror mirror = find(method, path);
+            if (mirror == null) continue;
+
+            List<String> parameters = new ArrayList<>();
+            List<String> casts = new ArrayList<>();
+            List<? extends VariableElement> methodParameters = method.getParameters();
+            for (int i = 0; i < methodParameters.size(); i++) {
+                VariableElement parameter = methodParameters.get(i);
+                AnnotationMirror argumentMirror = find(parameter, argument);
+                parameters.add("new " + PARAMETER_DESCRIPTOR + "(" + processingEnv.getElementUtils().getConstantExpression(parameter.getSimpleName().toString())
+                        + ", " + erasedName(parameter.asType()) + ".class, " + elementType(parameter.asType()) + ", "
+                        + (argumentMirror != null ? annotation(argumentMirror, argument, "                ") : "null") + ")");
+                casts.add("(" + erasedName(parameter.asType()) + ") parameters[" + i + "]");
+            }
+
+            paths.add("        new " + PATH_DESCRIPTOR + "(\n"
+                    + "            " + processingEnv.getElementUtils().getConstantExpression(type.getSimpleName() + "#" + method.getSimpleName()) + ",\n"
+                    + "            " + annotation(mirror, path, "            ") + ",\n"
+                    + "            java.util.List.of(" + (parameters.isEmpty() ? "" : "\n                " + String.join(",\n                ", parameters) + "\n            ") + "),\n"
+                    + "            (instance, parameters) -> " + invocation(method, typeName, casts) + "\n"
+                    + "        )");
+        }
+
+        source.append("    private static final java.util.List<").append(PATH_DESCRIPTOR).append("> PATHS = java.util.List.of(\n")
+                .append(String.join(",\n", paths)).append("\n    );\n\n");
+
+        source.append("    @Override\n    public ").append(COMMAND).append(" getCommand() {\n        return COMMAND;\n    }\n\n");
+        source.append("    @Override\n    public java.util.List<").append(PATH_DESCRIPTOR).append("> getPaths() {\n        return PATHS;\n    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(type, "Failed to generate command descriptor: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The body of a path's invoker, which returns {@code null} for {@code void} methods.
+     */
+    private String invocation(ExecutableElement method, String typeName, List<String> casts) {
+        String call = "((" + typeName + ") instance)." + method.getSimpleName() + "(" + String.join(", ", casts) + ")";
+        return method.getReturnType().getKind() == TypeKind.VOID ? "{ " + call + "; return null; }" : call;
+    }
+
+    /**
+     * Renders an annotation as an anonymous class implementing it, with every value including defaults inlined.
+     */
+    private String annotation(AnnotationMirror mirror, TypeElement annotationType, String indent) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        String name = annotationType.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder("new ").append(name).append("() {\n");
+        source.append(indent).append("    @Override\n");
+        source.append(indent).append("    public Class<? extends java.lang.annotation.Annotation> annotationType() {\n");
+        source.append(indent).append("        return ").append(name).append(".class;\n");
+        source.append(indent).append("    }\n");
+
+        for (ExecutableElement element : ElementFilter.methodsIn(annotationType.getEnclosedElements())) {
+            AnnotationValue value = values.get(element);
+            source.append("\n");
+            source.append(indent).append("    @Override\n");
+            source.append(indent).append("    public ").append(element.getReturnType()).append(" ").append(element.getSimpleName()).append("() {\n");
+            source.append(indent).append("        return ").append(literal(value, element.getReturnType())).append(";\n");
+            source.append(indent).append("    }\n");
+        }
+
+        return source.append(indent).append("}").toString();
+    }
+
+    private String literal(AnnotationValue value, TypeMirror type) {
+        return value.accept(new SimpleAnnotationValueVisitor14<String, TypeMirror>() {
+            @Override
+            protected String defaultAction(Object o, TypeMirror type) {
+                return processingEnv.getElementUtils().getConstantExpression(o);
+            }
+
+            @Override
+            public String visitType(TypeMirror t, TypeMirror type) {
+                return erasedName(t) + ".class";
+            }
+
+            @Override
+            public String visitEnumConstant(VariableElement c, TypeMirror type) {
+                return ((TypeElement) c.getEnclosingElement()).getQualifiedName() + "." + c.getSimpleName();
+            }
+
+            @Override
+            public String visitArray(List<? extends AnnotationValue> values, TypeMirror type) {
+                TypeMirror component = ((ArrayType) type).getComponentType();
+                return "new " + erasedName(component) + "[] {" + values.stream()
+                        .map(v -> literal(v, component))
+                        .collect(Collectors.joining(", ")) + "}";
+            }
+        }, type);
+    }
+
+    /**
+     * The element class literal of a {@code List} or array parameter, which takes the greedy remainder of a command.
+     */
+    private String elementType(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return erasedName(((ArrayType) type).getComponentType()) + ".class";
+        }
+        if (type instanceof DeclaredType declared && erasedName(type).equals("java.util.List")
+                && declared.getTypeArguments().size() == 1 && declared.getTypeArguments().get(0).getKind() == TypeKind.DECLARED) {
+            return erasedName(declared.getTypeArguments().get(0)) + ".class";
+        }
+        return "null";
+    }
+
+    private String erasedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return erasedName(((ArrayType) type).getComponentType()) + "[]";
+        }
+
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        Element element = processingEnv.getTypeUtils().asElement(erased);
+        return element instanceof TypeElement typeElement ? typeElement.getQualifiedName().toString() : "java.lang.Object";
+    }
+
+    private AnnotationMirror find(Element element, TypeElement annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation.getQualifiedName())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private AnnotationValue value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        throw new IllegalArgumentException("Unknown annotation value: " + name);
+    }
+
+    private boolean isPrivate(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+}
@@ -10,5 +10,6 @@ public final class AnnotationCommandAPI extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        Watchdog.close(this);
     }
 }
@@ -0,0 +1,75 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Describes how a parameter type is exposed to Brigadier, suggested and converted from the parsed command.
+ * Register custom adapters through {@link ArgumentAdapters#register(Class, ArgumentAdapter)} before registering
+ * the commands that use them.
+ */
+public interface ArgumentAdapter<T> {
+
+    @NotNull ArgumentType<?> getArgumentType();
+
+    T parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException;
+
+    /**
+     * Starts resolving the argument without blocking the caller. The raw input must be read from the context before
+     * returning. The command runs on the main thread once every pending argument is resolved. Return {@code null}
+     * to use {@link #parse} instead.
+     */
+    default @Nullable CompletableFuture<T> parseAsync(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+        return null;
+    }
+
+    default @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+        return Stream.empty();
+    }
+
+    /**
+     * A prebuilt index of the suggestion values, used instead of {@link #suggest} when not {@code null}.
+     */
+    default @Nullable SuggestionIndex getSuggestionIndex(@NotNull CommandSourceStack source) {
+        return null;
+    }
+
+    /**
+     * The builder suggestions are added to. Adapters reading several tokens offset it to the token being typed.
+     */
+    default @NotNull SuggestionsBuilder getSuggestionBuilder(@NotNull SuggestionsBuilder builder) {
+        return builder;
+    }
+
+    /**
+     * The values of a small fixed set, keyed by the literal typed for each, or {@code null} when the values are open.
+     * See {@link CommandRegister#setLiteralLimit(int)}.
+     */
+    default @Nullable Map<String, T> getLiterals() {
+        return null;
+    }
+
+    /**
+     * Whether the client suggests the argument type itself. No suggestion provider is attached to such arguments.
+     */
+    default boolean isClientSuggested() {
+        return false;
+    }
+
+    /**
+     * The executor {@link #suggest} is called on, or {@code null} to suggest on the calling thread.
+     */
+    default @Nullable Executor getSuggestionExecutor() {
+        return null;
+    }
+}
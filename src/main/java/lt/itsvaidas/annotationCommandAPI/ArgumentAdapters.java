@@ -0,0 +1,269 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.arguments.*;
+import com.mojang.brigadier.context.CommandContext;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.argument.ArgumentTypes;
+import lt.itsvaidas.annotationCommandAPI.dtos.Sentence;
+import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+import org.bukkit.Bukkit;
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the {@link ArgumentAdapter} for a parameter type. Lookups are cached per class, so resolving an adapter
+ * during registration costs a single {@link ClassValue} read.
+ */
+public final class ArgumentAdapters {
+
+    private static final Map<Class<?>, ArgumentAdapter<?>> adapters = new ConcurrentHashMap<>();
+    private static final ClassValue<ArgumentAdapter<?>> resolved = new ClassValue<>() {
+        @Override
+        protected ArgumentAdapter<?> computeValue(@NotNull Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private static final ClassValue<ArgumentAdapter<?>> lists = new ClassValue<>() {
+        @Override
+        protected ArgumentAdapter<?> computeValue(@NotNull Class<?> type) {
+            return TailArgumentAdapter.list(get(type));
+        }
+    };
+    private static final ClassValue<ArgumentAdapter<?>> arrays = new ClassValue<>() {
+        @Override
+        protected ArgumentAdapter<?> computeValue(@NotNull Class<?> type) {
+            return TailArgumentAdapter.array(get(type), type);
+        }
+    };
+
+    private static final Map<Class<?>, ArgumentAdapter<?>> builtIn;
+
+    static {
+        registerBoth(int.class, Integer.class, of(IntegerArgumentType.integer(), Integer.class));
+        registerBoth(double.class, Double.class, of(DoubleArgumentType.doubleArg(), Double.class));
+        registerBoth(float.class, Float.class, of(FloatArgumentType.floatArg(), Float.class));
+        registerBoth(boolean.class, Boolean.class, withLiterals(of(BoolArgumentType.bool(), Boolean.class), Map.of("true", true, "false", false)));
+        registerBoth(long.class, Long.class, of(LongArgumentType.longArg(), Long.class));
+        register(String.class, of(StringArgumentType.string(), String.class));
+        register(Sentence.class, of(StringArgumentType.greedyString(), (context, argument) -> new Sentence(context.getArgument(argument, String.class)), source -> Stream.empty()));
+        register(Player.class, players((context, argument) -> {
+            String name = context.getArgument(argument, String.class);
+            Player player = PlayerIndex.getPlayer(name);
+            if (player == null)
+                throw new CommandExecuteException("Player not found: " + name);
+            return player;
+        }));
+        register(OfflinePlayer.class, new OfflinePlayerAdapter());
+        register(World.class, of(StringArgumentType.string(), (context, argument) -> {
+            World world = Bukkit.getWorld(context.getArgument(argument, String.class));
+            if (world == null)
+                throw new CommandExecuteException("Incorrect argument provided");
+            return world;
+        }, source -> Bukkit.getWorlds().stream().map(World::getName)));
+        builtIn = Map.copyOf(adapters);
+    }
+
+    private ArgumentAdapters() {}
+
+    public static <T> void register(@NotNull Class<T> type, @NotNull ArgumentAdapter<? extends T> adapter) {
+        adapters.put(type, adapter);
+        resolved.remove(type);
+        lists.remove(type);
+        arrays.remove(type);
+    }
+
+    public static @NotNull ArgumentAdapter<?> get(@NotNull Class<?> type) {
+        return resolved.get(type);
+    }
+
+    /**
+     * Resolves the adapter of a parameter. A {@code List} or array with a known element type takes the greedy
+     * remainder of the command, parsing each token with the adapter of the element type.
+     */
+    public static @NotNull ArgumentAdapter<?> get(@NotNull Class<?> type, @Nullable Class<?> elementType) {
+        if (elementType != null && !adapters.containsKey(type)) {
+            if (type == List.class) {
+                return lists.get(elementType);
+            }
+            if (type.isArray() && type.getComponentType() == elementType) {
+                return arrays.get(elementType);
+            }
+        }
+        return get(type);
+    }
+
+    /**
+     * Resolves the adapter of a parameter, preferring Paper's native argument type for {@code Player},
+     * {@code List<Player>}, {@code World} and registry types when {@code nativeTypes} is set and no custom adapter
+     * was registered for the type.
+     */
+    public static @NotNull ArgumentAdapter<?> get(@NotNull Class<?> type, @Nullable Class<?> elementType, boolean nativeTypes) {
+        if (nativeTypes && adapters.get(type) == builtIn.get(type)) {
+            ArgumentAdapter<?> adapter = NativeArgumentAdapters.get(type, elementType);
+            if (adapter != null) {
+                return adapter;
+            }
+        }
+        return get(type, elementType);
+    }
+
+    public static <T> @NotNull ArgumentAdapter<T> of(@NotNull ArgumentType<?> argumentType, @NotNull Parser<T> parser, @NotNull Function<CommandSourceStack, Stream<String>> suggestions) {
+        return new ArgumentAdapter<>() {
+            @Override
+            public @NotNull ArgumentType<?> getArgumentType() {
+                return argumentType;
+            }
+
+            @Override
+            public T parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+                return parser.parse(context, argument);
+            }
+
+            @Override
+            public @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+                return suggestions.apply(source);
+            }
+        };
+    }
+
+    /**
+     * Creates an adapter that suggests from a {@link SuggestionIndex} instead of streaming every value per request.
+     */
+    public static <T> @NotNull ArgumentAdapter<T> indexed(@NotNull ArgumentType<?> argumentType, @NotNull Parser<T> parser, @NotNull Function<CommandSourceStack, SuggestionIndex> index) {
+        return new ArgumentAdapter<>() {
+            @Override
+            public @NotNull ArgumentType<?> getArgumentType() {
+                return argumentType;
+            }
+
+            @Override
+            public T parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+                return parser.parse(context, argument);
+            }
+
+            @Override
+            public @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+                return index.apply(source).stream();
+            }
+
+            @Override
+            public @NotNull SuggestionIndex getSuggestionIndex(@NotNull CommandSourceStack source) {
+                return index.apply(source);
+            }
+        };
+    }
+
+    private static <T> ArgumentAdapter<T> of(ArgumentType<?> argumentType, Class<T> type) {
+        return of(argumentType, (context, argument) -> context.getArgument(argument, type), source -> Stream.empty());
+    }
+
+    private static <T> ArgumentAdapter<T> players(Parser<T> parser) {
+        ArgumentAdapter<T> adapter = of(StringArgumentType.string(), parser, source -> Bukkit.getOnlinePlayers().stream().map(Player::getName));
+        return new ArgumentAdapter<>() {
+            @Override
+            public @NotNull ArgumentType<?> getArgumentType() {
+                return adapter.getArgumentType();
+            }
+
+            @Override
+            public T parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+                return adapter.parse(context, argument);
+            }
+
+            @Override
+            public @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+                return adapter.suggest(source);
+            }
+
+            @Override
+            public @Nullable SuggestionIndex getSuggestionIndex(@NotNull CommandSourceStack source) {
+                return PlayerIndex.getNames();
+            }
+        };
+    }
+
+    private static <T> ArgumentAdapter<T> withLiterals(ArgumentAdapter<T> adapter, Map<String, T> literals) {
+        return new ArgumentAdapter<>() {
+            @Override
+            public @NotNull ArgumentType<?> getArgumentType() {
+                return adapter.getArgumentType();
+            }
+
+            @Override
+            public T parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+                return adapter.parse(context, argument);
+            }
+
+            @Override
+            public @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+                return adapter.suggest(source);
+            }
+
+            @Override
+            public @Nullable SuggestionIndex getSuggestionIndex(@NotNull CommandSourceStack source) {
+                return adapter.getSuggestionIndex(source);
+            }
+
+            @Override
+            public @NotNull Map<String, T> getLiterals() {
+                return literals;
+            }
+        };
+    }
+
+    private static <T> void registerBoth(Class<T> primitive, Class<T> boxed, ArgumentAdapter<T> adapter) {
+        register(primitive, adapter);
+        register(boxed, adapter);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentAdapter<?> resolve(Class<?> type) {
+        ArgumentAdapter<?> adapter = adapters.get(type);
+        if (adapter != null) {
+            return adapter;
+        }
+
+        if (type.isEnum()) {
+            Class<Enum> enumType = (Class<Enum>) type;
+            SuggestionIndex index = SuggestionIndex.of(Arrays.stream(type.getEnumConstants()).map(Object::toString));
+            Map<String, Enum> literals = new LinkedHashMap<>();
+            for (Enum constant : enumType.getEnumConstants()) {
+                literals.put(constant.name(), constant);
+            }
+            return withLiterals(indexed(StringArgumentType.string(), (context, argument) -> {
+                String name = context.getArgument(argument, String.class);
+                Enum constant = literals.get(name);
+                if (constant == null)
+                    throw new CommandExecuteException("Unknown value: " + name);
+                return constant;
+            }, source -> index), Collections.unmodifiableMap(literals));
+        }
+
+        if (RegistryAPI.isRegistered(type)) {
+            return indexed(ArgumentTypes.namespacedKey(), (context, argument) -> {
+                Keyed object = RegistryAPI.tryGet(type, context.getArgument(argument, NamespacedKey.class));
+                if (object == null)
+                    throw new CommandExecuteException("Incorrect argument provided");
+                return object;
+            }, source -> RegistryAPI.getSuggestionIndex(type));
+        }
+
+        return of(StringArgumentType.string(), type);
+    }
+
+    @FunctionalInterface
+    public interface Parser<T> {
+        T parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException;
+    }
+}
@@ -1,10 +1,66 @@
 package lt.itsvaidas.annotationCommandAPI;
 
 import io.papermc.paper.command.brigadier.CommandSourceStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Constructor;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public abstract class ArgumentProvider {
+
+    private static final ClassValue<ArgumentProvider> instances = new ClassValue<>() {
+        @Override
+        protected ArgumentProvider computeValue(@NotNull Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return (ArgumentProvider) constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Argument provider " + type.getName() + " must have a no-arg constructor", e);
+            }
+        }
+    };
+
+    private volatile int generation;
+
     public ArgumentProvider() {}
+
     protected abstract Stream<String> provide(CommandSourceStack source);
+
+    /**
+     * Override to serve suggestions from a prebuilt {@link SuggestionIndex} instead of {@link #provide}.
+     */
+    protected @Nullable SuggestionIndex index(CommandSourceStack source) {
+        return null;
+    }
+
+    /**
+     * Override to return the values when they are the same for every sender and never change. Such values can be
+     * registered as literal command nodes, which the client completes and validates on its own.
+     */
+    protected @Nullable Set<String> staticValues() {
+        return null;
+    }
+
+    /**
+     * Drops every cached snapshot of this provider, so the next suggestion request calls {@link #provide} again.
+     */
+    public void invalidate() {
+        generation++;
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the shared instance of a provider. Providers are created once and reused for every command and
+     * suggestion request that references them.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ArgumentProvider> @NotNull T getInstance(@NotNull Class<T> type) {
+        return (T) instances.get(type);
+    }
 }
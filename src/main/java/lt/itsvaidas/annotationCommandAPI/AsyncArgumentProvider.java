@@ -0,0 +1,21 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link ArgumentProvider} whose {@link #provide} runs off the main thread. Use it for suggestions that come from
+ * a database or another slow source. A new suggestion request from the same sender cancels the one still in flight.
+ */
+public abstract class AsyncArgumentProvider extends ArgumentProvider {
+
+    public AsyncArgumentProvider() {}
+
+    /**
+     * The executor {@link #provide} is called on. Defaults to a virtual thread per request.
+     */
+    protected @NotNull Executor getExecutor() {
+        return CommandExecutors.virtualThreads;
+    }
+}
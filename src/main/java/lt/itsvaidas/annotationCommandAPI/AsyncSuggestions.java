@@ -0,0 +1,54 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs suggestion requests on an executor, keeping at most one request in flight per sender. A newer request from
+ * the same sender cancels the previous one, so its result is never sent to the client.
+ */
+class AsyncSuggestions {
+
+    private static final Map<Object, CompletableFuture<Suggestions>> inFlight = new ConcurrentHashMap<>();
+
+    private AsyncSuggestions() {}
+
+    static CompletableFuture<Suggestions> submit(CommandSender sender, SuggestionsBuilder builder, Executor executor, Consumer<BooleanSupplier> task) {
+        Object key = sender instanceof Entity entity ? entity.getUniqueId() : sender.getName();
+        CompletableFuture<Suggestions> future = new CompletableFuture<>();
+
+        CompletableFuture<Suggestions> previous = inFlight.put(key, future);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!future.isDone()) {
+                        task.accept(future::isDone);
+                        future.complete(builder.build());
+                    }
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            });
+        } catch (Throwable e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+}
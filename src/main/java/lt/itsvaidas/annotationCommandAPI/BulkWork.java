@@ -0,0 +1,343 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
+
+/**
+ * Work a command fans out over many targets, returned from a {@code @Path} method instead of done inside it. The
+ * units are processed on the main thread across as many ticks as needed, within the per tick budget set by
+ * {@link #setBudget(long)}, so large batches do not stall a single tick. On Folia the work is paced on the global
+ * region, and units that are an {@code Entity} or {@code Location} are handed to the thread owning them.
+ *
+ * <pre>{@code
+ * @Path(name = "heal all", description = "Heal every player")
+ * public BulkWork healAll(CommandSender sender) {
+ *     return BulkWork.of(Bukkit.getOnlinePlayers(), player -> player.setHealth(20))
+ *             .onComplete(() -> sender.sendMessage("Healed everyone"));
+ * }
+ * }</pre>
+ */
+public final class BulkWork {
+
+    private static final Object WAITING = new Object();
+    private static final Object END = new Object();
+    private static final Object NULL = new Object();
+
+    private final Source source;
+    private final Consumer<Object> action;
+    private final long total;
+    private @Nullable Progress progress;
+    private @Nullable Runnable completed;
+    private @Nullable Runnable cancelled;
+    private volatile boolean cancelRequested;
+    private final AtomicLong routed = new AtomicLong();
+    private @Nullable Plugin owner;
+    private @Nullable CommandSender sender;
+    private @Nullable Consumer<Throwable> failure;
+    private volatile @Nullable Throwable error;
+    private boolean exhausted;
+    private long processed;
+    private long reported;
+
+    @SuppressWarnings("unchecked")
+    private BulkWork(Source source, Consumer<?> action, long total) {
+        this.source = source;
+        this.action = (Consumer<Object>) action;
+        this.total = total;
+    }
+
+    /**
+     * Applies the action to every unit on the main thread. The collection is copied first, so it may change while
+     * the work runs.
+     */
+    public static <T> @NotNull BulkWork of(@NotNull Collection<? extends T> units, @NotNull Consumer<? super T> action) {
+        List<? extends T> snapshot = new ArrayList<>(units);
+        return new BulkWork(new IteratorSource(snapshot::iterator), action, snapshot.size());
+    }
+
+    /**
+     * Applies the action to every unit the iterator returns, on the main thread. The iterator is read lazily, one
+     * unit at a time.
+     */
+    public static <T> @NotNull BulkWork of(@NotNull Iterator<? extends T> units, @NotNull Consumer<? super T> action) {
+        return new BulkWork(new IteratorSource(() -> units), action, -1);
+    }
+
+    /**
+     * Computes a result for every unit on the common fork-join pool, then applies each result on the main thread as
+     * it becomes available. The collection is copied first. Keep {@code compute} free of Bukkit calls that require
+     * the main thread.
+     */
+    public static <T, R> @NotNull BulkWork computing(@NotNull Collection<? extends T> units, @NotNull Function<? super T, ? extends R> compute, @NotNull Consumer<? super R> apply) {
+        List<? extends T> snapshot = new ArrayList<>(units);
+        return new BulkWork(new ComputingSource(snapshot.spliterator(), compute), apply, snapshot.size());
+    }
+
+    /**
+     * Called on the main thread after each tick the work advanced, with the units processed so far and the total,
+     * or -1 when the total is unknown.
+     */
+    public @NotNull BulkWork onProgress(@NotNull Progress progress) {
+        this.progress = progress;
+        return this;
+    }
+
+    /**
+     * Called on the main thread once every unit was processed.
+     */
+    public @NotNull BulkWork onComplete(@NotNull Runnable completed) {
+        this.completed = completed;
+        return this;
+    }
+
+    /**
+     * Called on the main thread when the work is cancelled before it completed.
+     */
+    public @NotNull BulkWork onCancel(@NotNull Runnable cancelled) {
+        this.cancelled = cancelled;
+        return this;
+    }
+
+    /**
+     * Stops the work before its next unit.
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    /**
+     * Cancels every running work started by the sender's commands and returns how many were cancelled.
+     */
+    public static int cancel(@NotNull CommandSender sender) {
+        return BulkWorkQueue.cancel(sender);
+    }
+
+    /**
+     * Sets how many milliseconds per tick are spent processing work, shared by every running work of every plugin.
+     * Defaults to 5.
+     */
+    public static void setBudget(long millis) {
+        BulkWorkQueue.setBudget(millis);
+    }
+
+    void start(@NotNull Plugin owner, @NotNull CommandSender sender, @NotNull Consumer<Throwable> failure) {
+        this.owner = owner;
+        this.sender = sender;
+        this.failure = failure;
+        source.open();
+        BulkWorkQueue.add(this);
+    }
+
+    @Nullable Plugin getOwner() {
+        return owner;
+    }
+
+    @Nullable CommandSender getSender() {
+        return sender;
+    }
+
+    /**
+     * Processes the next unit. Returns {@code false} when none was ready.
+     */
+    boolean step() {
+        if (exhausted || cancelRequested) {
+            return false;
+        }
+        if (error != null) {
+            exhausted = true;
+            return false;
+        }
+
+        try {
+            Object unit = source.next();
+            if (unit == WAITING) return false;
+            if (unit == END) {
+                exhausted = true;
+                return false;
+            }
+
+            Object value = unit == NULL ? null : unit;
+            if (!route(value)) {
+                action.accept(value);
+            }
+            processed++;
+            return true;
+        } catch (Throwable e) {
+            error = e;
+            exhausted = true;
+            return false;
+        }
+    }
+
+    /**
+     * Reports the progress of the last tick and, once the work ended, runs its callbacks. Returns {@code true} when
+     * the work ended.
+     */
+    boolean finishTick() {
+        try {
+            if (progress != null && processed != reported) {
+                reported = processed;
+                progress.update(processed, total);
+            }
+
+            if (cancelRequested) {
+                source.close();
+                if (cancelled != null) cancelled.run();
+                return true;
+            }
+            if (!exhausted || routed.get() > 0) {
+                return false;
+            }
+
+            if (error != null) {
+                throw error;
+            }
+            if (completed != null) completed.run();
+        } catch (Throwable e) {
+            if (failure != null) failure.accept(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the work without running its callbacks, for when its plugin is disabled.
+     */
+    void discard() {
+        cancelRequested = true;
+        source.close();
+    }
+
+    /**
+     * Hands a unit the current thread does not own to the scheduler of its entity or region. Returns {@code false}
+     * when the unit can be processed right here, which is always the case on Paper.
+     */
+    private boolean route(@Nullable Object unit) {
+        CommandScheduler scheduler = MainThread.getScheduler();
+        if (unit instanceof Entity entity) {
+            if (scheduler.isOwnedByCurrentThread(entity)) return false;
+
+            routed.incrementAndGet();
+            scheduler.runFor(entity, () -> runRouted(entity), routed::decrementAndGet);
+            return true;
+        }
+        if (unit instanceof Location location) {
+            if (scheduler.isOwnedByCurrentThread(location)) return false;
+
+            routed.incrementAndGet();
+            scheduler.runAt(location, () -> runRouted(location));
+            return true;
+        }
+        return false;
+    }
+
+    private void runRouted(Object unit) {
+        try {
+            if (!cancelRequested && error == null) {
+                action.accept(unit);
+            }
+        } catch (Throwable e) {
+            if (error == null) error = e;
+        } finally {
+            routed.decrementAndGet();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Progress {
+        void update(long processed, long total);
+    }
+
+    private abstract static class Source {
+        void open() {}
+
+        /**
+         * The next unit, {@link #WAITING} when none is ready yet or {@link #END} when there are no more.
+         */
+        abstract Object next();
+
+        void close() {}
+    }
+
+    private static final class IteratorSource extends Source {
+        private final Supplier<Iterator<?>> units;
+        private Iterator<?> iterator;
+
+        IteratorSource(Supplier<Iterator<?>> units) {
+            this.units = units;
+        }
+
+        @Override
+        void open() {
+            iterator = units.get();
+        }
+
+        @Override
+        Object next() {
+            if (!iterator.hasNext()) return END;
+            Object unit = iterator.next();
+            return unit != null ? unit : NULL;
+        }
+    }
+
+    private static final class ComputingSource extends Source {
+        private final Spliterator<?> units;
+        private final Function<Object, ?> compute;
+        private final Queue<Object> results = new ConcurrentLinkedQueue<>();
+        private volatile boolean closed;
+        private CompletableFuture<Void> computing;
+
+        @SuppressWarnings("unchecked")
+        ComputingSource(Spliterator<?> units, Function<?, ?> compute) {
+            this.units = units;
+            this.compute = (Function<Object, ?>) compute;
+        }
+
+        @Override
+        void open() {
+            computing = CompletableFuture.runAsync(() -> StreamSupport.stream(units, true)
+                    .filter(unit -> !closed)
+                    .map(compute)
+                    .forEach(result -> results.add(result != null ? result : NULL)), ForkJoinPool.commonPool());
+        }
+
+        @Override
+        Object next() {
+            boolean computed = computing.isDone();
+            Object result = results.poll();
+            if (result != null) return result;
+            if (!computed) return WAITING;
+
+            computing.join();
+            return END;
+        }
+
+        @Override
+        void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains every running {@link BulkWork} on the main thread, one unit of each in turn, until the tick's budget is
+ * spent. The drain reschedules itself for the next tick while any work is left. On Folia it runs on the global
+ * region and each work routes its units to the regions owning them.
+ */
+final class BulkWorkQueue {
+
+    private static final List<BulkWork> running = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean scheduled = new AtomicBoolean();
+    private static volatile long budgetNanos = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private BulkWorkQueue() {}
+
+    static void setBudget(long millis) {
+        budgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    static void add(BulkWork work) {
+        running.add(work);
+        schedule();
+    }
+
+    static int cancel(CommandSender sender) {
+        int cancelled = 0;
+        for (BulkWork work : running) {
+            if (work.getSender() == sender && !work.isCancelled()) {
+                work.cancel();
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Drops the work started through the plugin's registers without running their callbacks.
+     */
+    static void cancel(Plugin owner) {
+        for (BulkWork work : running) {
+            if (work.getOwner() == owner) {
+                work.discard();
+                running.remove(work);
+            }
+        }
+    }
+
+    private static void schedule() {
+        if (!running.isEmpty() && scheduled.compareAndSet(false, true)) {
+            MainThread.getScheduler().runGlobal(BulkWorkQueue::drain);
+        }
+    }
+
+    private static void drain() {
+        long deadline = System.nanoTime() + budgetNanos;
+        boolean advanced = true;
+        while (advanced && System.nanoTime() < deadline) {
+            advanced = false;
+            for (BulkWork work : running) {
+                advanced |= work.step();
+                if (System.nanoTime() >= deadline) break;
+            }
+        }
+
+        running.removeIf(BulkWork::finishTick);
+        scheduled.set(false);
+        schedule();
+    }
+}
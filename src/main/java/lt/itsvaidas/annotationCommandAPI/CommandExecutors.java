@@ -0,0 +1,14 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors shared by the work the API moves off the main thread.
+ */
+final class CommandExecutors {
+
+    static final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+
+    private CommandExecutors() {}
+}
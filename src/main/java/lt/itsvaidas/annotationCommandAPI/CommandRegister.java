@@ -1,42 +1,61 @@
 package lt.itsvaidas.annotationCommandAPI;
 
-import com.mojang.brigadier.arguments.*;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.context.ParsedCommandNode;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.Commands;
 import io.papermc.paper.plugin.lifecycle.event.LifecycleEventManager;
 import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
-import lt.itsvaidas.annotationCommandAPI.anotations.Argument;
 import lt.itsvaidas.annotationCommandAPI.anotations.Command;
 import lt.itsvaidas.annotationCommandAPI.anotations.Path;
+import lt.itsvaidas.annotationCommandAPI.descriptors.CommandDescriptor;
+import lt.itsvaidas.annotationCommandAPI.descriptors.CommandDescriptors;
+import lt.itsvaidas.annotationCommandAPI.descriptors.ParameterDescriptor;
+import lt.itsvaidas.annotationCommandAPI.descriptors.PathDescriptor;
+import lt.itsvaidas.annotationCommandAPI.dtos.CommandHandler;
 import lt.itsvaidas.annotationCommandAPI.dtos.PathSegment;
-import lt.itsvaidas.annotationCommandAPI.dtos.Sentence;
+import lt.itsvaidas.annotationCommandAPI.enums.ExecutionPolicy;
+import lt.itsvaidas.annotationCommandAPI.enums.FailureCause;
 import lt.itsvaidas.annotationCommandAPI.enums.PathType;
+import lt.itsvaidas.annotationCommandAPI.enums.SuggestionMatch;
 import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+import lt.itsvaidas.annotationCommandAPI.metrics.CommandExecutionEvent;
+import lt.itsvaidas.annotationCommandAPI.metrics.CommandMetrics;
+import lt.itsvaidas.annotationCommandAPI.metrics.CommandSuggestionEvent;
+import lt.itsvaidas.annotationCommandAPI.metrics.PathMetrics;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
-import org.bukkit.Bukkit;
-import org.bukkit.Keyed;
-import org.bukkit.OfflinePlayer;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.logging.Level;
 import java.util.stream.Stream;
 
 public class CommandRegister {
@@ -54,15 +73,279 @@ public class CommandRegister {
                     )
                     .build())
             .build();
-    private final LifecycleEventManager<@NotNull Plugin> manager;
+    private final Plugin plugin;
+    private final @Nullable LifecycleEventManager<@NotNull Plugin> manager;
+    private int suggestionLimit = 100;
+    private SuggestionMatch suggestionMatch = SuggestionMatch.PREFIX;
+    private Executor asyncExecutor = CommandExecutors.virtualThreads;
+    private int helpPageSize = 10;
+    private long timeBudget = 0;
+    private boolean nativeArgumentTypes;
+    private int literalLimit = 0;
+    private final Watchdog watchdog;
+    private volatile @Nullable TrafficRecorder recorder;
+    private final Map<String, BuiltCommand> labels = new HashMap<>();
+    private final List<BuiltCommand> commands = new CopyOnWriteArrayList<>();
+    private boolean handlerRegistered;
 
     public CommandRegister(@NotNull Plugin plugin) {
-        this.manager = plugin.getLifecycleManager();
+        this(plugin, plugin.getLifecycleManager());
+        RegistryAPI.watchReloads(plugin);
+        DisableListener.watch(plugin);
+    }
+
+    /**
+     * Without a lifecycle manager commands are only built and kept in {@link #getNodes()}, for running them outside
+     * a server such as in the benchmarks.
+     */
+    CommandRegister(@NotNull Plugin plugin, @Nullable LifecycleEventManager<@NotNull Plugin> manager) {
+        this.plugin = plugin;
+        this.manager = manager;
+        this.watchdog = new Watchdog(plugin);
+        MainThread.init(plugin);
+    }
+
+    /**
+     * Sets the executor {@code @Path(async = true)} methods run on. Defaults to a virtual thread per execution.
+     */
+    public CommandRegister setAsyncExecutor(@NotNull Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+
+        return this;
+    }
+
+    /**
+     * Keeps an index of online player names from join and quit events, used to suggest and resolve {@code Player}
+     * and {@code OfflinePlayer} arguments without scanning every online player.
+     */
+    public CommandRegister enablePlayerIndex() {
+        PlayerIndex.enable(plugin);
+
+        return this;
+    }
+
+    /**
+     * Caches permission checks of command nodes per player until they join, change world or are invalidated through
+     * {@link PermissionCache#invalidate(Player)}. Call that from your permission plugin's recalculation event.
+     */
+    public CommandRegister enablePermissionCache() {
+        PermissionCache.enable(plugin);
+
+        return this;
+    }
+
+    /**
+     * Resolves {@code OfflinePlayer} arguments against a local name cache warmed from the server's known players.
+     * Names missing from it are looked up off the main thread, and the command runs once they are resolved.
+     */
+    public CommandRegister enableOfflinePlayerCache() {
+        OfflinePlayerCache.enable(plugin);
+
+        return this;
+    }
+
+    /**
+     * Records execution counts, dispatch and suggestion latencies and failures of every command path, readable
+     * through {@link CommandMetrics}.
+     */
+    public CommandRegister enableMetrics() {
+        CommandMetrics.enable();
+
+        return this;
+    }
+
+    /**
+     * Enables metrics and registers {@code /acapi stats}, showing them to senders with the {@code acapi.stats}
+     * permission.
+     */
+    public CommandRegister enableStatsCommand() {
+        CommandMetrics.enable();
+        register(new StatsCommand());
+
+        return this;
+    }
+
+    /**
+     * Sets how many milliseconds a command may run on the calling thread, argument providers included, before the
+     * watchdog logs it with a sampled stack. Defaults to 0, which only watches paths with a {@code budget} set.
+     * Async paths, suggestion providers with their own executor and {@link BulkWork} steps are not watched.
+     */
+    public CommandRegister setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+
+        return this;
+    }
+
+    /**
+     * Starts writing every command execution and suggestion request of this register to a file, with its input,
+     * sender, permissions and duration, until the returned recorder is closed. Replay it with the benchmarks module.
+     */
+    public TrafficRecorder startRecording(@NotNull java.nio.file.Path file) throws IOException {
+        TrafficRecorder current = recorder;
+        if (current != null && !current.isClosed()) {
+            throw new IllegalStateException("Traffic is already being recorded");
+        }
+
+        TrafficRecorder started = new TrafficRecorder(file);
+        recorder = started;
+        return started;
+    }
+
+    /**
+     * Sends {@code Player}, {@code List<Player>}, {@code World} and registry parameters as Paper's native argument
+     * types, so the client parses and suggests them without suggestion requests. Custom adapters registered for these
+     * types still take precedence.
+     */
+    public CommandRegister useNativeArgumentTypes() {
+        this.nativeArgumentTypes = true;
+
+        return this;
+    }
+
+    /**
+     * Registers arguments with at most {@code literalLimit} fixed values, such as enums, booleans and providers
+     * with {@link ArgumentProvider#staticValues()}, as one literal node per value. The client then completes and
+     * validates them without suggestion requests, and the value is bound without parsing. Defaults to 0, which keeps
+     * every argument a single argument node.
+     */
+    public CommandRegister setLiteralLimit(int literalLimit) {
+        this.literalLimit = literalLimit;
+
+        return this;
+    }
+
+    /**
+     * Replaces the scheduler used for {@link ExecutionPolicy} and {@link MainThread}, for forks whose threading the
+     * built in Paper and Folia schedulers do not cover.
+     */
+    public CommandRegister setScheduler(@NotNull CommandScheduler scheduler) {
+        MainThread.setScheduler(scheduler);
+
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of suggestions sent for a single argument.
+     */
+    public CommandRegister setSuggestionLimit(int suggestionLimit) {
+        this.suggestionLimit = suggestionLimit;
+
+        return this;
+    }
+
+    /**
+     * Sets how suggestion values are matched against the typed input.
+     */
+    public CommandRegister setSuggestionMatch(@NotNull SuggestionMatch suggestionMatch) {
+        this.suggestionMatch = suggestionMatch;
+
+        return this;
+    }
+
+    /**
+     * Sets how many lines a single help page shows.
+     */
+    public CommandRegister setHelpPageSize(int helpPageSize) {
+        this.helpPageSize = helpPageSize;
+
+        return this;
+    }
+
+    /**
+     * Resolves a path of a registered command once and binds its arguments, like a prepared statement. The returned
+     * command runs the handler directly for any sender, skipping the parsing and conversion of typed input.
+     *
+     * @param label     the command name or one of its aliases
+     * @param path      the {@link Path#name()} of the path, such as {@code "teleport <Player> [World]"}
+     * @param arguments the values of the path's parameters after the sender; trailing optional ones may be omitted
+     */
+    public @NotNull PreparedCommand prepare(@NotNull String label, @NotNull String path, Object... arguments) {
+        BuiltCommand command;
+        synchronized (labels) {
+            command = labels.get(label.toLowerCase(Locale.ROOT));
+        }
+        if (command == null) {
+            throw new IllegalArgumentException("Unknown command: " + label);
+        }
+
+        CommandHandler handler = command.paths().get(path.toLowerCase(Locale.ROOT));
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown path '" + path + "' of command " + label);
+        }
+
+        List<Integer> permissions = new ArrayList<>(2);
+        if (!command.permission().isEmpty()) permissions.add(PermissionCache.getId(command.permission()));
+        if (!handler.getPath().permission().isEmpty()) permissions.add(PermissionCache.getId(handler.getPath().permission()));
+
+        return new PreparedCommand(this, handler, permissions.stream().mapToInt(Integer::intValue).toArray(), label + (path.isEmpty() ? "" : " " + path), arguments);
     }
 
     public void register(Object clazz) {
-        if (clazz.getClass().isAnnotationPresent(Command.class)) {
-            Command command = clazz.getClass().getAnnotation(Command.class);
+        registerAll(List.of(clazz));
+    }
+
+    /**
+     * Registers a batch of command classes. Their trees are built in parallel, and every command is handed to Paper
+     * from a single lifecycle handler. Throws if two commands of the batch, or an already registered command, claim
+     * the same name or alias; nothing of the batch is registered then.
+     */
+    public void registerAll(@NotNull Collection<?> classes) {
+        List<BuiltCommand> built = classes.parallelStream()
+                .map(this::build)
+                .filter(Objects::nonNull)
+                .toList();
+
+        synchronized (labels) {
+            Map<String, BuiltCommand> claimed = new HashMap<>(labels);
+            Set<String> conflicts = new TreeSet<>();
+            for (BuiltCommand command : built) {
+                for (String label : command.labels()) {
+                    BuiltCommand previous = claimed.putIfAbsent(label, command);
+                    if (previous != null && previous != command) {
+                        conflicts.add("'" + label + "' (" + previous.owner() + ", " + command.owner() + ")");
+                    }
+                }
+            }
+
+            if (!conflicts.isEmpty()) {
+                throw new IllegalArgumentException("Conflicting command labels: " + String.join(", ", conflicts));
+            }
+
+            labels.putAll(claimed);
+            commands.addAll(built);
+
+            if (!handlerRegistered && manager != null) {
+                handlerRegistered = true;
+                manager.registerEventHandler(LifecycleEvents.COMMANDS, event -> {
+                    for (BuiltCommand command : commands) {
+                        event.registrar().register(command.node(), command.description(), command.aliases());
+                    }
+                });
+            }
+        }
+    }
+
+    List<LiteralCommandNode<CommandSourceStack>> getNodes() {
+        return commands.stream().map(BuiltCommand::node).toList();
+    }
+
+    /**
+     * The aliases of the built commands, each with the node it redirects to.
+     */
+    Map<String, LiteralCommandNode<CommandSourceStack>> getAliases() {
+        Map<String, LiteralCommandNode<CommandSourceStack>> aliases = new HashMap<>();
+        for (BuiltCommand command : commands) {
+            for (String alias : command.aliases()) {
+                aliases.put(alias.toLowerCase(Locale.ROOT), command.node());
+            }
+        }
+        return aliases;
+    }
+
+    private @Nullable BuiltCommand build(Object clazz) {
+        CommandDescriptor descriptor = CommandDescriptors.of(clazz.getClass());
+        if (descriptor != null) {
+            Command command = descriptor.getCommand();
 
             String baseCommand = command.name();
             String description = command.description();
@@ -72,277 +355,683 @@ public class CommandRegister {
             LiteralArgumentBuilder<CommandSourceStack> root = Commands.literal(baseCommand);
 
             if (!permission.equalsIgnoreCase("")) {
-                root.requires(source -> !(source.getSender() instanceof Player player) || player.hasPermission(permission));
+                root.requires(requirement(permission));
             }
 
             Map<String, PathSegment> pathSegments = new HashMap<>();
+            Map<String, CommandHandler> handlers = new HashMap<>();
 
-            Method rootMethod = Arrays.stream(clazz.getClass().getDeclaredMethods()).filter(m -> m.isAnnotationPresent(Path.class) && m.getAnnotation(Path.class).name().equalsIgnoreCase("")).findAny().orElse(null);
-            if (rootMethod != null) {
-                String methodPermission = rootMethod.isAnnotationPresent(Path.class) && !rootMethod.getAnnotation(Path.class).permission().equalsIgnoreCase("") ? rootMethod.getAnnotation(Path.class).permission() : null;
-                pathSegments.put("", (new PathSegment("", null, PathType.LITERAL, new HashMap<>(), null, clazz, methodPermission)).setMethod(rootMethod));
+            PathDescriptor rootPath = descriptor.getPaths().stream().filter(p -> p.getPath().name().equalsIgnoreCase("")).findAny().orElse(null);
+            if (rootPath != null) {
+                String methodPermission = !rootPath.getPath().permission().equalsIgnoreCase("") ? rootPath.getPath().permission() : null;
+                CommandHandler handler = CommandHandler.compile(clazz, command, rootPath, nativeArgumentTypes);
+                handlers.put("", handler);
+                pathSegments.put("", (new PathSegment("", null, PathType.LITERAL, new HashMap<>(), null, null, clazz, methodPermission)).setHandler(handler));
             }
 
-            for (Method method : clazz.getClass().getDeclaredMethods()) {
-                if (method.isAnnotationPresent(Path.class)) {
-                    Path path = method.getAnnotation(Path.class);
-                    if (path.name().equalsIgnoreCase("")) continue;
+            for (PathDescriptor pathDescriptor : descriptor.getPaths()) {
+                Path path = pathDescriptor.getPath();
+                if (path.name().equalsIgnoreCase("")) continue;
 
-                    String[] paths = path.name().split(" ");
-                    String methodPermission = path.permission().equalsIgnoreCase("") ? null : path.permission();
+                String[] paths = path.name().split(" ");
+                String methodPermission = path.permission().equalsIgnoreCase("") ? null : path.permission();
+                CommandHandler handler = CommandHandler.compile(clazz, command, pathDescriptor, nativeArgumentTypes);
+                handlers.put(path.name().toLowerCase(Locale.ROOT), handler);
 
-                    Map<String, PathSegment> currentSegments = pathSegments;
-                    PathSegment currentSegment = null;
+                Map<String, PathSegment> currentSegments = pathSegments;
+                PathSegment currentSegment = null;
 
-                    for (int i = 0, j = 1; !path.name().equalsIgnoreCase("") && i < paths.length; i++) {
-                        String pathSegment = paths[i];
-                        currentSegment = currentSegments.get(pathSegment);
+                for (int i = 0, j = 1; i < paths.length; i++) {
+                    String pathSegment = paths[i];
+                    currentSegment = currentSegments.get(pathSegment);
 
-                        if (currentSegment != null) {
-                            if (pathSegment.startsWith("<") || pathSegment.startsWith("[")) j++;
+                    if (currentSegment != null) {
+                        if (pathSegment.startsWith("<") || pathSegment.startsWith("[")) j++;
 
-                            currentSegments = currentSegment.getSubCommands();
-
-                            continue;
-                        }
+                        currentSegments = currentSegment.getSubCommands();
 
-                        Map<String, PathSegment> newSubCommands = new HashMap<>();
-                        String name = pathSegment.startsWith("<") || pathSegment.startsWith("[") ? pathSegment.substring(1, pathSegment.length() - 1).toLowerCase() : pathSegment.toLowerCase();
-                        if (pathSegment.startsWith("<") && pathSegment.endsWith(">")) {
-                            Parameter parameter = method.getParameters()[j++];
+                        continue;
+                    }
 
-                            currentSegment = new PathSegment(name, parameter.getName(), PathType.REQUIRED_ARGUMENT, newSubCommands, parameter, clazz, methodPermission);
-                        } else if (pathSegment.startsWith("[") && pathSegment.endsWith("]")) {
-                            Parameter parameter = method.getParameters()[j++];
+                    Map<String, PathSegment> newSubCommands = new HashMap<>();
+                    String name = pathSegment.startsWith("<") || pathSegment.startsWith("[") ? pathSegment.substring(1, pathSegment.length() - 1).toLowerCase() : pathSegment.toLowerCase();
+                    if (pathSegment.startsWith("<") && pathSegment.endsWith(">")) {
+                        ParameterDescriptor parameter = pathDescriptor.getParameters().get(j++);
 
-                            currentSegment = new PathSegment(name, parameter.getName(), PathType.OPTIONAL_ARGUMENT, newSubCommands, parameter, clazz, methodPermission);
-                        } else {
-                            currentSegment = new PathSegment(name, null, PathType.LITERAL, newSubCommands, null, clazz, methodPermission);
-                        }
+                        currentSegment = new PathSegment(name, parameter.getName(), PathType.REQUIRED_ARGUMENT, newSubCommands, parameter, resolveAdapter(parameter), clazz, methodPermission);
+                    } else if (pathSegment.startsWith("[") && pathSegment.endsWith("]")) {
+                        ParameterDescriptor parameter = pathDescriptor.getParameters().get(j++);
 
-                        currentSegments.put(pathSegment, currentSegment);
+                        currentSegment = new PathSegment(name, parameter.getName(), PathType.OPTIONAL_ARGUMENT, newSubCommands, parameter, resolveAdapter(parameter), clazz, methodPermission);
+                    } else {
+                        currentSegment = new PathSegment(name, null, PathType.LITERAL, newSubCommands, null, null, clazz, methodPermission);
+                    }
 
-                        if (paths.length > i + 1 && paths[i + 1].startsWith("[") && paths[i + 1].endsWith("]")) {
-                            currentSegment.setMethod(method);
-                        }
+                    currentSegments.put(pathSegment, currentSegment);
 
-                        currentSegments = currentSegment.getSubCommands();
+                    if (paths.length > i + 1 && paths[i + 1].startsWith("[") && paths[i + 1].endsWith("]")) {
+                        currentSegment.setHandler(handler);
                     }
 
-                    if (currentSegment == null)
-                        throw new IllegalArgumentException("Invalid command path: " + path.name());
-                    currentSegment.setMethod(method);
+                    currentSegments = currentSegment.getSubCommands();
                 }
+
+                if (currentSegment == null)
+                    throw new IllegalArgumentException("Invalid command path: " + path.name());
+                currentSegment.setHandler(handler);
             }
 
             if (pathSegments.containsKey("")) {
-                root.executes(context -> executeCommand(pathSegments.get(""), context));
+                PathSegment rootSegment = pathSegments.get("");
+                PathArguments.Binding binding = PathArguments.NONE.bind(rootSegment.getHandler(), 0);
+                root.executes(context -> executeCommand(rootSegment, context, binding));
             }
 
             for (String key : pathSegments.keySet()) {
                 if (key.equalsIgnoreCase("")) continue;
                 PathSegment segment = pathSegments.get(key);
-                recursiveCommandRegistering(root, segment);
+                recursiveCommandRegistering(root, segment, baseCommand + " " + key);
             }
 
-            root.then(Commands.literal("help").executes(context -> showHelp(context.getSource().getSender(), context.getInput().replace(" help", ""), pathSegments)));
+            HelpIndex help = compileHelp(baseCommand, pathSegments);
+            root.then(helpLiteral(help));
             if (!pathSegments.containsKey(""))
-                root.executes(context -> showHelp(context.getSource().getSender(), context.getInput(), pathSegments));
+                root.executes(help(help));
 
-            manager.registerEventHandler(LifecycleEvents.COMMANDS, event -> event.registrar().register(root.build(), description, Arrays.asList(aliases)));
+            return new BuiltCommand(clazz.getClass().getName(), root.build(), description, List.of(aliases), permission, Map.copyOf(handlers));
         }
+        return null;
+    }
+
+    private Predicate<CommandSourceStack> requirement(String permission) {
+        int id = PermissionCache.getId(permission);
+        return source -> !(source.getSender() instanceof Player player) || PermissionCache.hasPermission(player, id);
     }
 
-    public void recursiveCommandRegistering(ArgumentBuilder<CommandSourceStack, ?> root, PathSegment segment) {
+    private ArgumentAdapter<?> resolveAdapter(ParameterDescriptor parameter) {
+        ArgumentAdapter<?> adapter = ArgumentAdapters.get(parameter.getType(), parameter.getElementType(), nativeArgumentTypes);
+        if (parameter.getArgument() != null) {
+            return ProviderArgumentAdapter.of(adapter, parameter.getArgument());
+        }
+        return adapter;
+    }
+
+    public void recursiveCommandRegistering(ArgumentBuilder<CommandSourceStack, ?> root, PathSegment segment, String label) {
+        recursiveCommandRegistering(root, segment, label, PathArguments.NONE, 1);
+    }
+
+    private void recursiveCommandRegistering(ArgumentBuilder<CommandSourceStack, ?> root, PathSegment segment, String label, PathArguments arguments, int depth) {
         if (segment.getPathType() == PathType.LITERAL) {
             LiteralArgumentBuilder<CommandSourceStack> literalBuilder = Commands.literal(segment.getName());
             if (segment.getPermission() != null && !segment.getPermission().equalsIgnoreCase("")) {
-                literalBuilder.requires(source -> !(source.getSender() instanceof Player player) || player.hasPermission(segment.getPermission()));
+                literalBuilder.requires(requirement(segment.getPermission()));
             }
             for (String key : segment.getSubCommands().keySet()) {
                 PathSegment subSegment = segment.getSubCommands().get(key);
-                recursiveCommandRegistering(literalBuilder, subSegment);
+                recursiveCommandRegistering(literalBuilder, subSegment, label + " " + key, arguments, depth + 1);
             }
 
-            if (segment.getMethod() != null) {
-                literalBuilder.executes(context -> executeCommand(segment, context));
+            if (segment.getHandler() != null) {
+                PathArguments.Binding binding = arguments.bind(segment.getHandler(), depth);
+                literalBuilder.executes(context -> executeCommand(segment, context, binding));
             } else {
-                literalBuilder.executes(context -> showHelp(context.getSource().getSender(), context.getInput(), segment.getSubCommands()));
+                HelpIndex help = compileHelp(label, segment.getSubCommands());
+                literalBuilder.executes(help(help));
+                if (!segment.getSubCommands().containsKey("help")) literalBuilder.then(helpLiteral(help));
             }
 
             root.then(literalBuilder);
         } else {
-            ArgumentType<?> argumentType = StringArgumentType.string();
-            if (segment.getParameter() != null) {
-                Class<?> parameterType = segment.getParameter().getType();
-                if (parameterType.equals(int.class) || parameterType.equals(Integer.class)) {
-                    argumentType = IntegerArgumentType.integer();
-                } else if (parameterType.equals(double.class) || parameterType.equals(Double.class)) {
-                    argumentType = DoubleArgumentType.doubleArg();
-                } else if (parameterType.equals(float.class) || parameterType.equals(Float.class)) {
-                    argumentType = FloatArgumentType.floatArg();
-                } else if (parameterType.equals(boolean.class) || parameterType.equals(Boolean.class)) {
-                    argumentType = BoolArgumentType.bool();
-                } else if (parameterType.equals(long.class) || parameterType.equals(Long.class)) {
-                    argumentType = LongArgumentType.longArg();
-                } else if (parameterType.equals(Sentence.class)) {
-                    argumentType = StringArgumentType.greedyString();
-                }
-            }
+            ArgumentType<?> argumentType = segment.getAdapter() != null ? segment.getAdapter().getArgumentType() : StringArgumentType.string();
 
             if (segment.getArgument() == null)
                 throw new IllegalArgumentException("Path segment '" + segment.getName() + "' must have an argument defined.");
 
+            Map<String, ?> values = literalValues(segment.getAdapter());
+            if (values != null) {
+                registerLiterals(root, segment, label, values, arguments.with(segment.getArgument(), values, depth), depth);
+                return;
+            }
+
+            PathArguments below = arguments.with(segment.getArgument());
+
             RequiredArgumentBuilder<CommandSourceStack, ?> argumentBuilder = Commands.argument(segment.getArgument(), argumentType);
-            argumentBuilder.suggests((context, builder) -> getSuggestions(segment, context, builder));
+            if (segment.getAdapter() == null || !segment.getAdapter().isClientSuggested()) {
+                PathMetrics metrics = suggestionMetrics(segment, label);
+                argumentBuilder.suggests((context, builder) -> getSuggestions(segment, metrics, context, builder));
+            }
 
             if (segment.getPermission() != null) {
-                argumentBuilder.requires(source -> !(source.getSender() instanceof Player player) || player.hasPermission(segment.getPermission()));
+                argumentBuilder.requires(requirement(segment.getPermission()));
             }
 
             for (String key : segment.getSubCommands().keySet()) {
                 PathSegment subSegment = segment.getSubCommands().get(key);
-                recursiveCommandRegistering(argumentBuilder, subSegment);
+                recursiveCommandRegistering(argumentBuilder, subSegment, label + " " + key, below, depth + 1);
             }
 
-            if (segment.getMethod() != null) {
-                argumentBuilder.executes(context -> executeCommand(segment, context));
+            if (segment.getHandler() != null) {
+                PathArguments.Binding binding = below.bind(segment.getHandler(), depth);
+                argumentBuilder.executes(context -> executeCommand(segment, context, binding));
             } else {
-                argumentBuilder.executes(context -> showHelp(context.getSource().getSender(), context.getInput(), segment.getSubCommands()));
+                HelpIndex help = compileHelp(label, segment.getSubCommands());
+                argumentBuilder.executes(help(help));
+                if (!segment.getSubCommands().containsKey("help")) argumentBuilder.then(helpLiteral(help));
             }
 
             root.then(argumentBuilder);
         }
     }
 
-    private CompletableFuture<Suggestions> getSuggestions(PathSegment segment, CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
-        try {
-            Stream<String> provided = Stream.empty();
+    private @Nullable Map<String, ?> literalValues(@Nullable ArgumentAdapter<?> adapter) {
+        if (literalLimit <= 0 || adapter == null) {
+            return null;
+        }
+
+        Map<String, ?> values = adapter.getLiterals();
+        if (values == null || values.isEmpty() || values.size() > literalLimit) {
+            return null;
+        }
+        for (String literal : values.keySet()) {
+            if (literal.isEmpty() || literal.indexOf(' ') >= 0) return null;
+        }
+        return values;
+    }
+
+    /**
+     * Registers a closed-set argument as one literal node per value. The subtree below is built once and shared by
+     * every literal.
+     */
+    private void registerLiterals(ArgumentBuilder<CommandSourceStack, ?> root, PathSegment segment, String label, Map<String, ?> values, PathArguments arguments, int depth) {
+        LiteralArgumentBuilder<CommandSourceStack> subtree = Commands.literal(segment.getName());
+        for (String key : segment.getSubCommands().keySet()) {
+            PathSegment subSegment = segment.getSubCommands().get(key);
+            recursiveCommandRegistering(subtree, subSegment, label + " " + key, arguments, depth + 1);
+        }
+
+        com.mojang.brigadier.Command<CommandSourceStack> command;
+        if (segment.getHandler() != null) {
+            PathArguments.Binding binding = arguments.bind(segment.getHandler(), depth);
+            command = context -> executeCommand(segment, context, binding);
+        } else {
+            HelpIndex help = compileHelp(label, segment.getSubCommands());
+            command = help(help);
+            if (!segment.getSubCommands().containsKey("help")) subtree.then(helpLiteral(help));
+        }
 
-            Parameter parameter = segment.getParameter();
-            if (parameter == null) {
-                return builder.buildFuture();
+        for (String literal : values.keySet()) {
+            LiteralArgumentBuilder<CommandSourceStack> literalBuilder = Commands.literal(literal);
+            if (segment.getPermission() != null) {
+                literalBuilder.requires(requirement(segment.getPermission()));
+            }
+            for (CommandNode<CommandSourceStack> child : subtree.getArguments()) {
+                literalBuilder.then(child);
             }
+            root.then(literalBuilder.executes(command));
+        }
+    }
 
-            Class<?> parameterType = parameter.getType();
-            if (parameter.isAnnotationPresent(Argument.class)) {
-                Argument argumentAnnotation = parameter.getAnnotation(Argument.class);
-                ArgumentProvider provider = argumentAnnotation.provider().getDeclaredConstructor().newInstance();
-                provided = provider.provide(context.getSource());
-            } else if (parameterType.equals(OfflinePlayer.class) || parameterType.equals(Player.class)) {
-                provided = Bukkit.getOnlinePlayers().stream().map(Player::getName);
-            } else if (parameterType.isEnum()) {
-                provided = Arrays.stream(parameterType.getEnumConstants()).map(Object::toString);
-            } else if (RegistryAPI.isRegistered(parameterType)) {
-                provided = RegistryAPI.get(parameterType).stream().map(k -> k.key().value());
-            } else if (parameterType.equals(World.class)) {
-                provided = Bukkit.getWorlds().stream().map(World::getName);
+    private CompletableFuture<Suggestions> getSuggestions(PathSegment segment, PathMetrics metrics, CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
+        CommandSuggestionEvent event = new CommandSuggestionEvent();
+        TrafficRecorder recording = recorder;
+        if (!CommandMetrics.isEnabled() && !event.isEnabled() && recording == null) {
+            return computeSuggestions(segment, metrics, context, builder);
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        CompletableFuture<Suggestions> suggestions = computeSuggestions(segment, metrics, context, builder);
+        suggestions.whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (CommandMetrics.isEnabled()) {
+                metrics.recordSuggestion(elapsed);
+            }
+            if (recording != null) {
+                recording.record(TrafficRecording.Kind.SUGGEST, context.getSource().getSender(), builder.getInput(), start, elapsed);
+            }
+            if (event.shouldCommit()) {
+                event.path = metrics.getPath();
+                event.sender = context.getSource().getSender().getName();
+                event.commit();
             }
+        });
+        return suggestions;
+    }
+
+    /**
+     * Suggestions of an argument that ends a path count towards that path. Arguments that only lead to other paths
+     * get their own {@code <label> (suggestions)} entry.
+     */
+    private static PathMetrics suggestionMetrics(PathSegment segment, String label) {
+        CommandHandler handler = segment.getHandler();
+        return handler != null ? handler.getMetrics() : CommandMetrics.forPath(label + " (suggestions)");
+    }
+
+    private CompletableFuture<Suggestions> computeSuggestions(PathSegment segment, PathMetrics metrics, CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) {
+        ArgumentAdapter<?> adapter = segment.getAdapter();
+        if (adapter == null) {
+            return builder.buildFuture();
+        }
+
+        CommandSourceStack source = context.getSource();
+        SuggestionsBuilder target = adapter.getSuggestionBuilder(builder);
+        Executor executor = adapter.getSuggestionExecutor();
+        if (executor != null) {
+            return AsyncSuggestions.submit(source.getSender(), target, executor, cancelled -> suggest(adapter, source, target, cancelled));
+        }
 
-            provided.filter(s -> s.toLowerCase().startsWith(builder.getRemainingLowerCase())).forEach(builder::suggest);
+        long budget = budget(segment.getHandler());
+        if (budget <= 0) {
+            suggest(adapter, source, target, () -> false);
+            return target.buildFuture();
+        }
+
+        String watched = segment.getHandler() != null ? metrics.getPath() + " (suggestions)" : metrics.getPath();
+        Watchdog.Watch watch = watchdog.start(watched, builder.getInput(), source.getSender().getName(), budget);
+        try {
+            suggest(adapter, source, target, () -> false);
+        } finally {
+            watchdog.end(watch);
+        }
+        return target.buildFuture();
+    }
+
+    private void suggest(ArgumentAdapter<?> adapter, CommandSourceStack source, SuggestionsBuilder builder, BooleanSupplier cancelled) {
+        try {
+            SuggestionIndex index = adapter.getSuggestionIndex(source);
+            if (index != null) {
+                index.suggest(builder, suggestionLimit, suggestionMatch);
+                return;
+            }
+
+            String input = builder.getRemainingLowerCase();
+            Stream<String> provided = adapter.suggest(source);
+
+            provided.takeWhile(s -> !cancelled.getAsBoolean()).filter(s -> SuggestionIndex.matches(s, input, suggestionMatch)).limit(suggestionLimit).forEach(builder::suggest);
         } catch (Exception e) {
             throw new RuntimeException("Failed to resolve suggestions", e);
         }
-        return builder.buildFuture();
     }
 
-    private int executeCommand(PathSegment segment, CommandContext<CommandSourceStack> context) {
+    private int executeCommand(PathSegment segment, CommandContext<CommandSourceStack> context, PathArguments.Binding binding) {
+        CommandHandler handler = segment.getHandler();
+        if (handler == null) {
+            plugin.getLogger().severe("No method found for command segment: " + segment.getName());
+            return 0;
+        }
+
+        CommandExecutionEvent event = new CommandExecutionEvent();
+        event.begin();
+        TrafficRecorder recording = recorder;
+        boolean measured = CommandMetrics.isEnabled() || recording != null;
+        long start = measured ? System.nanoTime() : 0;
+
+        long budget = budget(handler);
+        Watchdog.Watch watch = budget > 0 ? watchdog.start(handler.getMetrics().getPath(), context.getInput(), context.getSource().getSender().getName(), budget) : null;
+        FailureCause failure;
         try {
-            Method method = segment.getMethod();
+            failure = dispatch(handler, context, binding);
+        } finally {
+            if (watch != null) watchdog.end(watch);
+        }
 
-            if (method == null) {
-                throw new IllegalStateException("No method found for command segment: " + segment.getName());
+        if (measured) {
+            long elapsed = System.nanoTime() - start;
+            if (CommandMetrics.isEnabled()) {
+                handler.getMetrics().recordExecution(elapsed);
+                if (failure != null) handler.getMetrics().recordFailure(failure);
+            }
+            if (recording != null) {
+                recording.record(TrafficRecording.Kind.EXECUTE, context.getSource().getSender(), context.getInput(), start, elapsed);
             }
+        }
+        if (event.shouldCommit()) {
+            event.path = handler.getMetrics().getPath();
+            event.sender = context.getSource().getSender().getName();
+            event.failure = failure != null ? failure.name() : null;
+            event.commit();
+        }
+
+        return failure == FailureCause.COMMAND_ERROR || failure == FailureCause.EXCEPTION ? 0 : com.mojang.brigadier.Command.SINGLE_SUCCESS;
+    }
 
-            CommandSourceStack source = context.getSource();
-            Object[] parameters = new Object[method.getParameterCount()];
+    private long budget(@Nullable CommandHandler handler) {
+        return handler != null && handler.getTimeBudget() >= 0 ? handler.getTimeBudget() : timeBudget;
+    }
+
+    private @Nullable FailureCause dispatch(CommandHandler handler, CommandContext<CommandSourceStack> context, PathArguments.Binding binding) {
+        CommandSourceStack source = context.getSource();
+        try {
+            Object[] parameters = new Object[handler.getParameterCount()];
+            FailureCause refused = admit(handler, source.getSender(), parameters);
+            if (refused != null) {
+                return refused;
+            }
 
-            for (int i = 0; i < method.getParameterCount(); i++) {
-                Class<?> parameterType = method.getParameterTypes()[i];
+            CompletableFuture<?>[] pending = null;
+            for (int i = 1; i < parameters.length; i++) {
+                if (!binding.isPresent(i)) {
+                    parameters[i] = defaultValue(handler.getParameterType(i));
+                    continue;
+                }
+
+                Object literal = binding.literal(context, i);
+                if (literal != null) {
+                    parameters[i] = literal;
+                    continue;
+                }
+
+                String argument = handler.getParameterName(i);
                 try {
-                    if (i == 0) {
-                        if (parameterType.equals(CommandSender.class)) {
-                            parameters[i] = source.getSender();
-                        } else if (parameterType.equals(Player.class)) {
-                            if (source.getSender() instanceof Player player) {
-                                parameters[i] = player;
-                            } else {
-                                throw new CommandExecuteException("Command sender must be a player for this command.");
-                            }
-                        }
+                    CompletableFuture<?> resolving = handler.getAdapter(i).parseAsync(context, argument);
+                    if (resolving != null) {
+                        if (pending == null) pending = new CompletableFuture<?>[parameters.length];
+                        pending[i] = resolving;
                         continue;
                     }
-                    if (parameterType.equals(Player.class)) {
-                        Player player = Bukkit.getPlayer(context.getArgument(method.getParameters()[i].getName(), String.class));
-                        if (player == null)
-                            throw new CommandExecuteException("Player not found: " + context.getArgument(method.getParameters()[i].getName(), String.class));
-                        parameters[i] = player;
-                    } else if (parameterType.equals(OfflinePlayer.class)) {
-                        OfflinePlayer player = Bukkit.getOfflinePlayer(context.getArgument(method.getParameters()[i].getName(), String.class));
-                        if (!player.hasPlayedBefore())
-                            throw new CommandExecuteException("Offline player not found: " + context.getArgument(method.getParameters()[i].getName(), String.class));
-                        parameters[i] = player;
-                    } else if (parameterType.isEnum()) {
-                        Enum value = Enum.valueOf((Class<Enum>) parameterType, context.getArgument(method.getParameters()[i].getName(), String.class));
-                        if (value == null)
-                            throw new CommandExecuteException("Incorrect argument provided");
-                        parameters[i] = value;
-                    } else if (RegistryAPI.isRegistered(parameterType)) {
-                        Keyed object = RegistryAPI.tryGet(parameterType, context.getArgument(method.getParameters()[i].getName(), String.class));
-                        if (object == null)
-                            throw new CommandExecuteException("Incorrect argument provided");
-                        parameters[i] = object;
-                    } else if (parameterType.equals(World.class)) {
-                        World world = Bukkit.getWorld(context.getArgument(method.getParameters()[i].getName(), String.class));
-                        if (world == null)
-                            throw new CommandExecuteException("Incorrect argument provided");
-                        parameters[i] = world;
-                    } else if (parameterType.equals(Sentence.class)) {
-                        parameters[i] = new Sentence(context.getArgument(method.getParameters()[i].getName(), String.class));
-                    } else {
-                        parameters[i] = context.getArgument(method.getParameters()[i].getName(), parameterType);
-                    }
+                    parameters[i] = handler.getAdapter(i).parse(context, argument);
+                } catch (CommandExecuteException e) {
+                    source.getSender().sendMessage(Component.text("Error executing command: " + e.getMessage()));
+                    return FailureCause.INVALID_ARGUMENT;
+                } catch (IllegalArgumentException e) {
+                    source.getSender().sendMessage(Component.text("Incorrect argument provided: " + e.getMessage()));
+                    return FailureCause.INVALID_ARGUMENT;
                 } catch (Exception e) {
-                    if (e.getMessage() != null && !e.getMessage().startsWith("No such argument") && e instanceof IllegalArgumentException) {
-                        context.getSource().getSender().sendMessage(Component.text("Incorrect argument provided: " + e.getMessage()));
-                        return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+                    plugin.getLogger().log(Level.WARNING, "Failed to resolve argument '" + argument + "' of " + handler.getName(), e);
+                    source.getSender().sendMessage(Component.text("Error executing command: Could not read " + argument + "."));
+                    return FailureCause.ARGUMENT_RESOLUTION;
+                }
+            }
+
+            if (pending != null) {
+                invokeWhenResolved(handler, parameters, pending, source.getSender());
+                return null;
+            }
+
+            return invoke(handler, parameters, source.getSender());
+        } catch (Throwable e) {
+            reportFailure(handler, source.getSender(), e);
+            return cause(e);
+        }
+    }
+
+    /**
+     * The value an omitted optional argument of the type takes.
+     */
+    static @Nullable Object defaultValue(Class<?> type) {
+        if (type.equals(int.class)) {
+            return 0;
+        } else if (type.equals(boolean.class)) {
+            return false;
+        } else if (type.equals(double.class)) {
+            return 0.0;
+        } else if (type.equals(float.class)) {
+            return 0.0f;
+        } else if (type.equals(long.class)) {
+            return 0L;
+        } else if (type.equals(short.class)) {
+            return (short) 0;
+        } else if (type.equals(byte.class)) {
+            return (byte) 0;
+        } else if (type.equals(char.class)) {
+            return ' ';
+        }
+        return null;
+    }
+
+    /**
+     * Applies the rate limit of the handler and binds the sender to the first parameter, or returns why the sender
+     * may not run it.
+     */
+    private @Nullable FailureCause admit(CommandHandler handler, CommandSender sender, Object[] parameters) {
+        RateLimiter rateLimiter = handler.getRateLimiter();
+        if (rateLimiter != null && sender instanceof Entity entity) {
+            long wait = rateLimiter.tryAcquire(entity.getUniqueId());
+            if (wait > 0) {
+                sender.sendMessage(Component.text(String.format("Please wait %.1f seconds before using this command again.", wait / 1_000_000_000.0)));
+                return FailureCause.RATE_LIMITED;
+            }
+        }
+
+        Class<?> senderType = handler.getParameterType(0);
+        if (senderType.equals(CommandSender.class)) {
+            parameters[0] = sender;
+        } else if (senderType.equals(Player.class)) {
+            if (sender instanceof Player player) {
+                parameters[0] = player;
+            } else {
+                sender.sendMessage(Component.text("Error executing command: Command sender must be a player for this command."));
+                return FailureCause.PLAYER_ONLY;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs a prepared command for a sender with the same permission, sender, rate limit and concurrency checks as
+     * typed commands, but without parsing any input.
+     */
+    @Nullable FailureCause execute(PreparedCommand command, CommandSender sender) {
+        CommandHandler handler = command.getHandler();
+        if (sender instanceof Player player) {
+            for (int permission : command.getPermissions()) {
+                if (!PermissionCache.hasPermission(player, permission)) {
+                    sender.sendMessage(Component.text("Error executing command: You do not have permission to use this command."));
+                    recordFailure(handler, FailureCause.NO_PERMISSION);
+                    return FailureCause.NO_PERMISSION;
+                }
+            }
+        }
+
+        CommandExecutionEvent event = new CommandExecutionEvent();
+        event.begin();
+        long start = CommandMetrics.isEnabled() ? System.nanoTime() : 0;
+
+        long budget = budget(handler);
+        Watchdog.Watch watch = budget > 0 ? watchdog.start(handler.getMetrics().getPath(), command.getLabel(), sender.getName(), budget) : null;
+        FailureCause failure;
+        try {
+            Object[] parameters = new Object[handler.getParameterCount()];
+            failure = admit(handler, sender, parameters);
+            if (failure == null) {
+                command.bind(parameters);
+                failure = invoke(handler, parameters, sender);
+            }
+        } catch (Throwable e) {
+            reportFailure(handler, sender, e);
+            failure = cause(e);
+        } finally {
+            if (watch != null) watchdog.end(watch);
+        }
+
+        if (CommandMetrics.isEnabled()) {
+            handler.getMetrics().recordExecution(System.nanoTime() - start);
+            if (failure != null) handler.getMetrics().recordFailure(failure);
+        }
+        if (event.shouldCommit()) {
+            event.path = handler.getMetrics().getPath();
+            event.sender = sender.getName();
+            event.failure = failure != null ? failure.name() : null;
+            event.commit();
+        }
+        return failure;
+    }
+
+    private @Nullable FailureCause invoke(CommandHandler handler, Object[] parameters, CommandSender sender) throws Throwable {
+        if (!handler.isAsync()) {
+            if (!schedule(handler, parameters, sender)) {
+                run(handler, parameters, sender);
+            }
+            return null;
+        }
+
+        if (!handler.tryAcquire()) {
+            sender.sendMessage(Component.text("This command is already running, please try again later."));
+            return FailureCause.CONCURRENCY_LIMIT;
+        }
+
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    run(handler, parameters, sender);
+                } catch (Throwable e) {
+                    reportFailure(handler, sender, e);
+                    recordFailure(handler, cause(e));
+                } finally {
+                    handler.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            handler.release();
+            throw e;
+        }
+        return null;
+    }
+
+    /**
+     * Calls the handler and starts the {@link BulkWork} it returned, if any.
+     */
+    private void run(CommandHandler handler, Object[] parameters, CommandSender sender) throws Throwable {
+        if (handler.invoke(parameters) instanceof BulkWork work) {
+            work.start(plugin, sender, e -> {
+                reportFailure(handler, sender, e);
+                recordFailure(handler, cause(e));
+            });
+        }
+    }
+
+    /**
+     * Hands the handler to the thread its {@link ExecutionPolicy} asks for. Returns {@code false} when the calling
+     * thread already owns the target, so the handler can run right away.
+     */
+    private boolean schedule(CommandHandler handler, Object[] parameters, CommandSender sender) {
+        ExecutionPolicy policy = handler.getExecution();
+        if (policy == ExecutionPolicy.DEFAULT) {
+            return false;
+        }
+
+        Object target = policy == ExecutionPolicy.ARGUMENT ? parameters[handler.getRegionArgument()] : null;
+        if (target == null && policy != ExecutionPolicy.GLOBAL) target = sender;
+        if (target instanceof World world) target = world.getSpawnLocation();
+
+        CommandScheduler scheduler = MainThread.getScheduler();
+        long budget = budget(handler);
+        Runnable task = () -> {
+            Watchdog.Watch watch = budget > 0 ? watchdog.start(handler.getMetrics().getPath(), handler.getName(), sender.getName(), budget) : null;
+            try {
+                run(handler, parameters, sender);
+            } catch (Throwable e) {
+                reportFailure(handler, sender, e);
+                recordFailure(handler, cause(e));
+            } finally {
+                if (watch != null) watchdog.end(watch);
+            }
+        };
+
+        if (target instanceof Entity entity) {
+            if (scheduler.isOwnedByCurrentThread(entity)) return false;
+            scheduler.runFor(entity, task, () -> sender.sendMessage(Component.text("Error executing command: The target is no longer available.")));
+        } else if (target instanceof Location location) {
+            if (scheduler.isOwnedByCurrentThread(location)) return false;
+            scheduler.runAt(location, task);
+        } else {
+            if (scheduler.isGlobalThread()) return false;
+            scheduler.runGlobal(task);
+        }
+        return true;
+    }
+
+    private void reportFailure(CommandHandler handler, CommandSender sender, Throwable e) {
+        if (!(e instanceof CommandExecuteException)) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to execute " + handler.getName(), e);
+        }
+        sender.sendMessage(Component.text("Error executing command: " + e.getMessage()));
+    }
+
+    private static FailureCause cause(Throwable e) {
+        return e instanceof CommandExecuteException ? FailureCause.COMMAND_ERROR : FailureCause.EXCEPTION;
+    }
+
+    private static void recordFailure(CommandHandler handler, @Nullable FailureCause failure) {
+        if (failure != null && CommandMetrics.isEnabled()) {
+            handler.getMetrics().recordFailure(failure);
+        }
+    }
+
+    private void invokeWhenResolved(CommandHandler handler, Object[] parameters, CompletableFuture<?>[] pending, CommandSender sender) {
+        CompletableFuture.allOf(Arrays.stream(pending).filter(Objects::nonNull).toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> resume(sender, () -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        sender.sendMessage(Component.text("Error executing command: " + cause.getMessage()));
+                        recordFailure(handler, FailureCause.ARGUMENT_RESOLUTION);
+                        return;
                     }
 
-                    if (e instanceof CommandExecuteException argumentNotFoundException) {
-                        context.getSource().getSender().sendMessage(Component.text("Error executing command: " + argumentNotFoundException.getMessage()));
-                        return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+                    for (int i = 0; i < pending.length; i++) {
+                        if (pending[i] != null) parameters[i] = pending[i].join();
                     }
 
-                    if (parameterType.equals(int.class)) {
-                        parameters[i] = 0;
-                    } else if (parameterType.equals(boolean.class)) {
-                        parameters[i] = false;
-                    } else if (parameterType.equals(double.class)) {
-                        parameters[i] = 0.0;
-                    } else if (parameterType.equals(float.class)) {
-                        parameters[i] = 0.0f;
-                    } else if (parameterType.equals(long.class)) {
-                        parameters[i] = 0L;
-                    } else if (parameterType.equals(short.class)) {
-                        parameters[i] = (short) 0;
-                    } else if (parameterType.equals(byte.class)) {
-                        parameters[i] = (byte) 0;
-                    } else if (parameterType.equals(char.class)) {
-                        parameters[i] = ' ';
-                    } else {
-                        parameters[i] = null;
+                    try {
+                        recordFailure(handler, invoke(handler, parameters, sender));
+                    } catch (Throwable e) {
+                        reportFailure(handler, sender, e);
+                        recordFailure(handler, cause(e));
                     }
-                }
-            }
+                }));
+    }
 
-            method.invoke(segment.getClazz(), parameters);
-            return com.mojang.brigadier.Command.SINGLE_SUCCESS;
-        } catch (Exception e) {
-            return 0;
+    /**
+     * Runs the task on the thread the sender's commands run on: the sender's own scheduler for entities, so a
+     * {@link ExecutionPolicy#DEFAULT} handler stays on the player's region on Folia, or the global region otherwise.
+     * The task is dropped when the entity was removed meanwhile.
+     */
+    private static void resume(CommandSender sender, Runnable task) {
+        CommandScheduler scheduler = MainThread.getScheduler();
+        if (!(sender instanceof Entity entity)) {
+            MainThread.run(task);
+        } else if (scheduler.isOwnedByCurrentThread(entity)) {
+            task.run();
+        } else {
+            scheduler.runFor(entity, task, () -> {});
         }
     }
 
-    private int showHelp(CommandSender sender, String label, Map<String, PathSegment> segments) {
+    private HelpIndex compileHelp(String label, Map<String, PathSegment> segments) {
+        List<HelpIndex.Entry> entries = new ArrayList<>();
+        collectHelp(label, segments, entries);
+        return new HelpIndex(entries);
+    }
+
+    /**
+     * Shows the first page of the help when a node is run on its own.
+     */
+    private com.mojang.brigadier.Command<CommandSourceStack> help(HelpIndex help) {
+        return context -> help.show(context.getSource().getSender(), "", helpPageSize, typed(context, 0) + " help");
+    }
+
+    /**
+     * A {@code help [page|search]} child of a node, listing the paths below it.
+     */
+    private LiteralArgumentBuilder<CommandSourceStack> helpLiteral(HelpIndex help) {
+        return Commands.literal("help")
+                .executes(context -> help.show(context.getSource().getSender(), "", helpPageSize, typed(context, 0)))
+                .then(Commands.argument("query", StringArgumentType.greedyString())
+                        .executes(context -> help.show(context.getSource().getSender(), context.getArgument("query", String.class), helpPageSize, typed(context, 1))));
+    }
+
+    /**
+     * The command as the sender typed it, alias and argument values included, up to the node {@code fromEnd} nodes
+     * before the last one.
+     */
+    private static String typed(CommandContext<CommandSourceStack> context, int fromEnd) {
+        List<ParsedCommandNode<CommandSourceStack>> nodes = context.getNodes();
+        String input = context.getInput();
+        String command = nodes.isEmpty() ? input.trim() : input.substring(0, nodes.get(nodes.size() - 1 - fromEnd).getRange().getEnd());
+        return command.startsWith("/") ? command : "/" + command;
+    }
+
+    private void collectHelp(String label, Map<String, PathSegment> segments, List<HelpIndex.Entry> entries) {
         List<String> sortedSubCommands = segments.keySet().stream()
                 .sorted()
                 .toList();
@@ -350,37 +1039,24 @@ public class CommandRegister {
         for (String key : sortedSubCommands) {
             PathSegment segment = segments.get(key);
 
-            if (segment.getSubCommands().isEmpty() && segment.getMethod() != null) {
-                Method method = segment.getMethod();
-                Path path = method.getAnnotation(Path.class);
-
-                if (!path.permission().equalsIgnoreCase("") && !sender.hasPermission(path.permission())) {
-                    continue;
-                }
+            if (segment.getSubCommands().isEmpty() && segment.getHandler() != null) {
+                Path path = segment.getHandler().getPath();
+                String command = key.equalsIgnoreCase("") ? "/" + label : "/" + label + " " + key;
+                int permission = path.permission().equalsIgnoreCase("") ? -1 : PermissionCache.getId(path.permission());
 
-                Command command = method.getDeclaringClass().getAnnotation(Command.class);
-
-                String description = path.description();
-
-                if (key.equalsIgnoreCase("")) {
-                    command(sender, "/" + label, description);
-                } else {
-                    command(sender, "/" + label + " " + key, description);
-                }
+                entries.add(new HelpIndex.Entry(command + " " + path.description(), command(command, path.description()), permission));
             } else {
-                showHelp(sender, label + " " + key, segment.getSubCommands());
+                collectHelp(label + " " + key, segment.getSubCommands(), entries);
             }
         }
-
-        return com.mojang.brigadier.Command.SINGLE_SUCCESS;
     }
 
-    private void command(CommandSender sender, String command, String description) {
+    private Component command(String command, String description) {
         if (command.contains("<") || command.contains("[")) {
             String commandWithoutArgs = command.replaceAll("<.*?>", "").replaceAll("\\[.*?]", "");
-            sender.sendMessage(stringToComponent("<gold> ▶ <dark_gray>|<gray> <click:suggest_command:" + commandWithoutArgs + "><hover:show_text:'" + description + "'>" + command + "</hover></click> - " + description));
+            return stringToComponent("<gold> ▶ <dark_gray>|<gray> <click:suggest_command:" + commandWithoutArgs + "><hover:show_text:'" + description + "'>" + command + "</hover></click> - " + description);
         } else {
-            sender.sendMessage(stringToComponent("<gold> ▶ <dark_gray>|<gray> <click:run_command:" + command + "><hover:show_text:'" + description + "'>" + command + "</hover></click> - " + description));
+            return stringToComponent("<gold> ▶ <dark_gray>|<gray> <click:run_command:" + command + "><hover:show_text:'" + description + "'>" + command + "</hover></click> - " + description);
         }
     }
 
@@ -390,4 +1066,10 @@ public class CommandRegister {
                 .style(Style.style(TextDecoration.ITALIC.withState(false)))
                 .append(mm.deserialize(string));
     }
+
+    private record BuiltCommand(String owner, LiteralCommandNode<CommandSourceStack> node, String description, List<String> aliases, String permission, Map<String, CommandHandler> paths) {
+        List<String> labels() {
+            return Stream.concat(Stream.of(node.getLiteral()), aliases.stream()).map(label -> label.toLowerCase(Locale.ROOT)).toList();
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Schedules command work on the thread owning what it touches. Paper ticks everything on one main thread, while
+ * Folia ticks each region of the world, every entity's region and the global state on separate threads.
+ */
+public interface CommandScheduler {
+
+    boolean isGlobalThread();
+
+    void runGlobal(@NotNull Runnable task);
+
+    boolean isOwnedByCurrentThread(@NotNull Entity entity);
+
+    /**
+     * Runs the task on the thread owning the entity, or {@code retired} when the entity is removed before then.
+     */
+    void runFor(@NotNull Entity entity, @NotNull Runnable task, @NotNull Runnable retired);
+
+    boolean isOwnedByCurrentThread(@NotNull Location location);
+
+    void runAt(@NotNull Location location, @NotNull Runnable task);
+
+    /**
+     * Returns the scheduler matching the running server.
+     */
+    static @NotNull CommandScheduler of(@NotNull Plugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new FoliaScheduler(plugin);
+        } catch (ClassNotFoundException e) {
+            return new PaperScheduler(plugin);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stops the background work of the library when a plugin that created a {@link CommandRegister} is disabled, so no
+ * thread or task outlives it.
+ */
+final class DisableListener implements Listener {
+
+    private static final Set<Plugin> watched = ConcurrentHashMap.newKeySet();
+
+    private final Plugin plugin;
+
+    private DisableListener(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    static void watch(@NotNull Plugin plugin) {
+        if (!watched.add(plugin)) return;
+
+        Bukkit.getPluginManager().registerEvents(new DisableListener(plugin), plugin);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDisable(PluginDisableEvent event) {
+        if (event.getPlugin() != plugin) return;
+
+        watched.remove(plugin);
+        Watchdog.close(plugin);
+        BulkWorkQueue.cancel(plugin);
+    }
+}
@@ -0,0 +1,52 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Folia's region schedulers. Tasks for an entity follow it between regions, and tasks for a location run on the
+ * region owning its chunk.
+ */
+final class FoliaScheduler implements CommandScheduler {
+
+    private final Plugin plugin;
+
+    FoliaScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return Bukkit.isGlobalTickThread();
+    }
+
+    @Override
+    public void runGlobal(@NotNull Runnable task) {
+        Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    @Override
+    public void runFor(@NotNull Entity entity, @NotNull Runnable task, @NotNull Runnable retired) {
+        if (!entity.getScheduler().execute(plugin, task, retired, 1)) {
+            retired.run();
+        }
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Location location) {
+        return Bukkit.isOwnedByCurrentRegion(location);
+    }
+
+    @Override
+    public void runAt(@NotNull Location location, @NotNull Runnable task) {
+        Bukkit.getRegionScheduler().execute(plugin, location, task);
+    }
+}
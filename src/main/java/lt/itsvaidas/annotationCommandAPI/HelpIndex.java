@@ -0,0 +1,102 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Help lines of a command tree, rendered to components once at registration. Showing a page only filters the lines
+ * by permission and by an optional search over the words of each command and description.
+ */
+class HelpIndex {
+
+    private final List<Entry> entries;
+    private final NavigableMap<String, BitSet> words = new TreeMap<>();
+
+    HelpIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+
+        for (int i = 0; i < this.entries.size(); i++) {
+            for (String word : split(this.entries.get(i).text())) {
+                words.computeIfAbsent(word, key -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    /**
+     * Shows a page of the help. The query is either a page number or search words, each matching the start of a
+     * word in the command or its description. The footer points to {@code helpCommand} for the next page.
+     */
+    int show(CommandSender sender, String query, int pageSize, String helpCommand) {
+        int page = 1;
+        BitSet matches = new BitSet(entries.size());
+        matches.set(0, entries.size());
+
+        String trimmed = query.trim();
+        if (!trimmed.isEmpty()) {
+            try {
+                page = Integer.parseInt(trimmed);
+            } catch (NumberFormatException e) {
+                for (String word : split(trimmed)) {
+                    BitSet wordMatches = new BitSet(entries.size());
+                    words.subMap(word, true, word + Character.MAX_VALUE, false).values().forEach(wordMatches::or);
+                    matches.and(wordMatches);
+                }
+            }
+        }
+
+        int visible = 0;
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            Entry entry = entries.get(i);
+            if (entry.permission() < 0 || PermissionCache.hasPermission(sender, entry.permission())) {
+                visible++;
+            } else {
+                matches.clear(i);
+            }
+        }
+
+        if (visible == 0) {
+            if (!trimmed.isEmpty()) {
+                sender.sendMessage(Component.text("No commands found.", NamedTextColor.GRAY));
+            }
+            return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+        }
+
+        int pages = (visible + pageSize - 1) / pageSize;
+        page = Math.max(1, Math.min(page, pages));
+
+        int skip = (page - 1) * pageSize;
+        int shown = 0;
+        for (int i = matches.nextSetBit(0); i >= 0 && shown < pageSize; i = matches.nextSetBit(i + 1)) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            sender.sendMessage(entries.get(i).line());
+            shown++;
+        }
+
+        if (pages > 1) {
+            String footer = "Page " + page + "/" + pages;
+            if (page < pages) {
+                footer += " - " + helpCommand + " " + (page + 1) + " for the next page";
+            }
+            sender.sendMessage(Component.text(footer, NamedTextColor.GRAY));
+        }
+
+        return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+    }
+
+    private static String[] split(String text) {
+        return text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+    }
+
+    record Entry(String text, Component line, int permission) {}
+}
@@ -0,0 +1,73 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Hands work back to the server thread from asynchronous command handlers, for example before calling Bukkit API
+ * that is not thread safe. Tasks are scheduled through the {@link CommandScheduler} of the plugin that created the
+ * first {@link CommandRegister}; on Folia they run on the global region.
+ */
+public final class MainThread {
+
+    private static volatile CommandScheduler scheduler;
+
+    private MainThread() {}
+
+    static void init(@NotNull Plugin owner) {
+        if (scheduler == null) {
+            scheduler = CommandScheduler.of(owner);
+        }
+    }
+
+    static void setScheduler(@NotNull CommandScheduler commandScheduler) {
+        scheduler = commandScheduler;
+    }
+
+    public static boolean isMainThread() {
+        CommandScheduler current = scheduler;
+        return current != null ? current.isGlobalThread() : Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Runs the task on the main thread, immediately when already on it.
+     */
+    public static void run(@NotNull Runnable task) {
+        if (isMainThread()) {
+            task.run();
+        } else {
+            getScheduler().runGlobal(task);
+        }
+    }
+
+    /**
+     * Computes a value on the main thread and completes the returned future with it.
+     */
+    public static <T> @NotNull CompletableFuture<T> supply(@NotNull Supplier<T> task) {
+        if (isMainThread()) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(task, executor());
+    }
+
+    public static @NotNull Executor executor() {
+        return MainThread::run;
+    }
+
+    public static @NotNull CommandScheduler getScheduler() {
+        CommandScheduler current = scheduler;
+        if (current == null) {
+            throw new IllegalStateException("No CommandRegister has been created yet");
+        }
+        return current;
+    }
+}
@@ -0,0 +1,111 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.argument.ArgumentTypes;
+import io.papermc.paper.command.brigadier.argument.resolvers.selector.PlayerSelectorArgumentResolver;
+import io.papermc.paper.registry.RegistryKey;
+import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adapters backed by Paper's native argument types. The client parses and suggests them itself, so they add no
+ * suggestion requests, and the server receives the resolved value.
+ */
+final class NativeArgumentAdapters {
+
+    private static final ClassValue<Optional<ArgumentAdapter<?>>> natives = new ClassValue<>() {
+        @Override
+        protected Optional<ArgumentAdapter<?>> computeValue(@NotNull Class<?> type) {
+            return Optional.ofNullable(resolve(type));
+        }
+    };
+
+    private static final ArgumentAdapter<List<Player>> players = new Native<>(ArgumentTypes.players()) {
+        @Override
+        public List<Player> parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+            return resolvePlayers(context, argument);
+        }
+    };
+
+    private NativeArgumentAdapters() {}
+
+    /**
+     * Returns the native adapter of a parameter, or {@code null} when Paper has no native type for it.
+     */
+    static @Nullable ArgumentAdapter<?> get(@NotNull Class<?> type, @Nullable Class<?> elementType) {
+        if (type == List.class && elementType == Player.class) {
+            return players;
+        }
+        return natives.get(type).orElse(null);
+    }
+
+    private static @Nullable ArgumentAdapter<?> resolve(Class<?> type) {
+        if (type == Player.class) {
+            return new Native<Player>(ArgumentTypes.player()) {
+                @Override
+                public Player parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+                    List<Player> players = resolvePlayers(context, argument);
+                    if (players.isEmpty())
+                        throw new CommandExecuteException("Player not found");
+                    return players.getFirst();
+                }
+            };
+        }
+
+        if (type == World.class) {
+            return new Native<World>(ArgumentTypes.world()) {
+                @Override
+                public World parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) {
+                    return context.getArgument(argument, World.class);
+                }
+            };
+        }
+
+        RegistryKey<?> registryKey = RegistryAPI.getRegistryKey(type);
+        if (registryKey != null) {
+            return new Native<>(ArgumentTypes.resource(registryKey)) {
+                @Override
+                public Object parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) {
+                    return context.getArgument(argument, type);
+                }
+            };
+        }
+
+        return null;
+    }
+
+    private static List<Player> resolvePlayers(CommandContext<CommandSourceStack> context, String argument) throws CommandExecuteException {
+        try {
+            return context.getArgument(argument, PlayerSelectorArgumentResolver.class).resolve(context.getSource());
+        } catch (CommandSyntaxException e) {
+            throw new CommandExecuteException(e.getRawMessage().getString());
+        }
+    }
+
+    private abstract static class Native<T> implements ArgumentAdapter<T> {
+        private final ArgumentType<?> argumentType;
+
+        Native(ArgumentType<?> argumentType) {
+            this.argumentType = argumentType;
+        }
+
+        @Override
+        public @NotNull ArgumentType<?> getArgumentType() {
+            return argumentType;
+        }
+
+        @Override
+        public boolean isClientSuggested() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Resolves {@code OfflinePlayer} arguments through the {@link OfflinePlayerCache} first. When the cache is enabled,
+ * names it does not know are looked up on a virtual thread instead of blocking the caller.
+ */
+class OfflinePlayerAdapter implements ArgumentAdapter<OfflinePlayer> {
+
+    @Override
+    public @NotNull ArgumentType<?> getArgumentType() {
+        return StringArgumentType.string();
+    }
+
+    @Override
+    public OfflinePlayer parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+        String name = context.getArgument(argument, String.class);
+        OfflinePlayer cached = OfflinePlayerCache.getCached(name);
+        return cached != null ? cached : lookup(name);
+    }
+
+    @Override
+    public @Nullable CompletableFuture<OfflinePlayer> parseAsync(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) {
+        if (!OfflinePlayerCache.isEnabled()) {
+            return null;
+        }
+
+        String name = context.getArgument(argument, String.class);
+        OfflinePlayer cached = OfflinePlayerCache.getCached(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                OfflinePlayer player = lookup(name);
+                OfflinePlayerCache.put(name, player.getUniqueId());
+                return player;
+            } catch (CommandExecuteException e) {
+                throw new CompletionException(e);
+            }
+        }, CommandExecutors.virtualThreads);
+    }
+
+    @Override
+    public @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+        return Bukkit.getOnlinePlayers().stream().map(Player::getName);
+    }
+
+    @Override
+    public @Nullable SuggestionIndex getSuggestionIndex(@NotNull CommandSourceStack source) {
+        return PlayerIndex.getNames();
+    }
+
+    private static OfflinePlayer lookup(String name) throws CommandExecuteException {
+        OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+        if (!player.hasPlayedBefore())
+            throw new CommandExecuteException("Offline player not found: " + name);
+        return player;
+    }
+}
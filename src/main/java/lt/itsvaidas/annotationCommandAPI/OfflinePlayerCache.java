@@ -0,0 +1,104 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local name to UUID cache for resolving {@code OfflinePlayer} arguments without blocking on profile lookups. It is
+ * warmed from the server's known players when enabled and kept current from join events. While enabled, names that
+ * miss the cache are resolved off the main thread and the command runs once they are ready.
+ */
+public final class OfflinePlayerCache implements Listener {
+
+    private static final OfflinePlayerCache instance = new OfflinePlayerCache();
+
+    private final Map<String, UUID> players = new ConcurrentHashMap<>();
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    private OfflinePlayerCache() {}
+
+    static void enable(@NotNull Plugin plugin) {
+        if (instance.enabled) return;
+
+        Bukkit.getPluginManager().registerEvents(instance, plugin);
+        instance.enabled = true;
+        CommandExecutors.virtualThreads.execute(() -> {
+            for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+                if (player.getName() == null) continue;
+
+                String name = player.getName().toLowerCase(Locale.ROOT);
+                if (instance.players.putIfAbsent(name, player.getUniqueId()) == null) {
+                    instance.names.putIfAbsent(player.getUniqueId(), name);
+                }
+            }
+        });
+    }
+
+    public static boolean isEnabled() {
+        return instance.enabled;
+    }
+
+    /**
+     * Adds a known player to the cache, for example from a plugin's own player database. A name previously cached for
+     * the same UUID is forgotten.
+     */
+    public static void put(@NotNull String name, @NotNull UUID uuid) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        instance.players.put(lower, uuid);
+        String previous = instance.names.put(uuid, lower);
+        if (previous != null && !previous.equals(lower)) {
+            instance.players.remove(previous, uuid);
+        }
+    }
+
+    /**
+     * Returns the player with this name if it can be resolved without blocking, or {@code null} otherwise. Players
+     * that have never joined are never returned from here, so the caller's own lookup decides how to reject them.
+     */
+    public static @Nullable OfflinePlayer getCached(@NotNull String name) {
+        Player online = PlayerIndex.isEnabled() ? PlayerIndex.getPlayer(name) : Bukkit.getPlayerExact(name);
+        if (online != null && online.getName().equalsIgnoreCase(name)) {
+            return online;
+        }
+
+        String lower = name.toLowerCase(Locale.ROOT);
+        UUID uuid = instance.players.get(lower);
+        if (uuid != null) {
+            OfflinePlayer player = Bukkit.getOfflinePlayer(uuid);
+            if (player.hasPlayedBefore() && (player.getName() == null || player.getName().equalsIgnoreCase(name))) {
+                return player;
+            }
+            instance.players.remove(lower, uuid);
+            instance.names.remove(uuid, lower);
+        }
+
+        OfflinePlayer cached = Bukkit.getOfflinePlayerIfCached(name);
+        if (cached == null || !cached.hasPlayedBefore()) {
+            return null;
+        }
+
+        if (instance.enabled && cached.getName() != null) {
+            put(cached.getName(), cached.getUniqueId());
+        }
+        return cached;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        put(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,49 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The single threaded scheduler of Paper, where the main thread owns every entity and location.
+ */
+final class PaperScheduler implements CommandScheduler {
+
+    private final Plugin plugin;
+
+    PaperScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void runGlobal(@NotNull Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void runFor(@NotNull Entity entity, @NotNull Runnable task, @NotNull Runnable retired) {
+        runGlobal(task);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Location location) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void runAt(@NotNull Location location, @NotNull Runnable task) {
+        runGlobal(task);
+    }
+}
@@ -0,0 +1,111 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import lt.itsvaidas.annotationCommandAPI.dtos.CommandHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The arguments on the way from the command root to a node, known while the tree is built. A handler executing at
+ * the node is {@link #bind bound} to them once, so dispatch knows which parameters were typed without asking
+ * Brigadier for missing arguments.
+ * <p>
+ * Closed-set arguments registered as one literal node per value sit a fixed number of nodes above the node that
+ * executes, so their value is read from the parsed nodes by position, whichever alias or redirect the command was
+ * reached through.
+ */
+final class PathArguments {
+
+    static final PathArguments NONE = new PathArguments(new String[0], new Map<?, ?>[0], new int[0]);
+
+    private final String[] arguments;
+    private final Map<?, ?>[] literals;
+    private final int[] depths;
+
+    private PathArguments(String[] arguments, Map<?, ?>[] literals, int[] depths) {
+        this.arguments = arguments;
+        this.literals = literals;
+        this.depths = depths;
+    }
+
+    /**
+     * Returns these arguments followed by an argument node.
+     */
+    @NotNull PathArguments with(@NotNull String argument) {
+        return with(argument, null, -1);
+    }
+
+    /**
+     * Returns these arguments followed by an argument whose literals sit at {@code depth} of the command tree.
+     */
+    @NotNull PathArguments with(@NotNull String argument, @Nullable Map<String, ?> values, int depth) {
+        int size = arguments.length;
+        String[] arguments = Arrays.copyOf(this.arguments, size + 1);
+        Map<?, ?>[] literals = Arrays.copyOf(this.literals, size + 1);
+        int[] depths = Arrays.copyOf(this.depths, size + 1);
+        arguments[size] = argument;
+        literals[size] = values;
+        depths[size] = depth;
+        return new PathArguments(arguments, literals, depths);
+    }
+
+    /**
+     * Resolves, for a handler executing at {@code depth}, which of its parameters were typed and which of those
+     * are literals.
+     */
+    @NotNull Binding bind(@NotNull CommandHandler handler, int depth) {
+        int parameters = handler.getParameterCount();
+        boolean[] present = new boolean[parameters];
+        Map<?, ?>[] values = new Map<?, ?>[parameters];
+        int[] distances = new int[parameters];
+        for (int i = 1; i < parameters; i++) {
+            for (int j = 0; j < arguments.length; j++) {
+                if (!arguments[j].equals(handler.getParameterName(i))) continue;
+
+                present[i] = true;
+                values[i] = literals[j];
+                distances[i] = depth - depths[j];
+            }
+        }
+        return new Binding(present, values, distances);
+    }
+
+    static final class Binding {
+        private final boolean[] present;
+        private final Map<?, ?>[] literals;
+        private final int[] distances;
+
+        private Binding(boolean[] present, Map<?, ?>[] literals, int[] distances) {
+            this.present = present;
+            this.literals = literals;
+            this.distances = distances;
+        }
+
+        /**
+         * Whether the parameter's argument is on the path to the node, as opposed to an omitted optional argument.
+         */
+        boolean isPresent(int parameter) {
+            return present[parameter];
+        }
+
+        /**
+         * Returns the value of a literal argument, or {@code null} when the parameter is not a literal.
+         */
+        @Nullable Object literal(@NotNull CommandContext<CommandSourceStack> context, int parameter) {
+            Map<?, ?> values = literals[parameter];
+            if (values == null) {
+                return null;
+            }
+
+            List<ParsedCommandNode<CommandSourceStack>> nodes = context.getNodes();
+            int index = nodes.size() - 1 - distances[parameter];
+            return index >= 0 ? values.get(nodes.get(index).getNode().getName()) : null;
+        }
+    }
+}
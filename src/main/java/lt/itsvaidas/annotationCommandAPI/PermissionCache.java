@@ -0,0 +1,196 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.destroystokyo.paper.event.brigadier.AsyncPlayerSendCommandsEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Caches permission checks of command nodes per player. Every distinct permission used by a command tree gets an
+ * index, and each player keeps two bitsets over those indexes: which permissions were checked and which were
+ * granted. All requirement predicates share the cache, so a permission is evaluated once per player until the
+ * player joins, changes world, has their command tree resent, is recalculated by LuckPerms or is invalidated
+ * through {@link #invalidate(Player)}. The server resends the tree after op changes, and permission plugins do after
+ * recalculating a player.
+ */
+public final class PermissionCache implements Listener {
+
+    private static final PermissionCache instance = new PermissionCache();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> permissions = new CopyOnWriteArrayList<>();
+    private final Map<UUID, Bits> players = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    private PermissionCache() {}
+
+    static void enable(@NotNull Plugin plugin) {
+        if (instance.enabled) return;
+
+        Bukkit.getPluginManager().registerEvents(instance, plugin);
+        hookLuckPerms(plugin);
+        instance.enabled = true;
+    }
+
+    /**
+     * Subscribes to LuckPerms' {@code UserDataRecalculateEvent} through reflection when LuckPerms is installed, so
+     * the library does not depend on its API.
+     */
+    private static void hookLuckPerms(Plugin plugin) {
+        Plugin luckPerms = Bukkit.getPluginManager().getPlugin("LuckPerms");
+        if (luckPerms == null) return;
+
+        try {
+            ClassLoader loader = luckPerms.getClass().getClassLoader();
+            Class<?> api = Class.forName("net.luckperms.api.LuckPerms", true, loader);
+            Class<?> eventBus = Class.forName("net.luckperms.api.event.EventBus", true, loader);
+            Class<?> event = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent", true, loader);
+            Method getUser = event.getMethod("getUser");
+            Method getUniqueId = getUser.getReturnType().getMethod("getUniqueId");
+
+            Object provider = Class.forName("net.luckperms.api.LuckPermsProvider", true, loader).getMethod("get").invoke(null);
+            Object bus = api.getMethod("getEventBus").invoke(provider);
+            Consumer<Object> handler = recalculated -> {
+                try {
+                    instance.players.remove((UUID) getUniqueId.invoke(getUser.invoke(recalculated)));
+                } catch (ReflectiveOperationException e) {
+                    instance.players.clear();
+                }
+            };
+            eventBus.getMethod("subscribe", Object.class, Class.class, Consumer.class).invoke(bus, plugin, event, handler);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            plugin.getLogger().log(Level.WARNING, "Could not listen to LuckPerms recalculations, cached permissions are only dropped when commands are resent", e);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return instance.enabled;
+    }
+
+    /**
+     * Returns the index of a permission, assigning one on first use.
+     */
+    public static int getId(@NotNull String permission) {
+        Integer id = instance.ids.get(permission);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (instance.permissions) {
+            return instance.ids.computeIfAbsent(permission, key -> {
+                instance.permissions.add(key);
+                return instance.permissions.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Every permission that has an index, in index order.
+     */
+    static List<String> getPermissions() {
+        return List.copyOf(instance.permissions);
+    }
+
+    public static boolean hasPermission(@NotNull CommandSender sender, int id) {
+        if (!(sender instanceof Player player) || !instance.enabled) {
+            return sender.hasPermission(instance.permissions.get(id));
+        }
+
+        Bits bits = instance.players.get(player.getUniqueId());
+        if (bits == null || id >= bits.capacity()) {
+            int capacity = instance.permissions.size();
+            bits = instance.players.compute(player.getUniqueId(), (key, current) -> {
+                if (current == null) return new Bits(capacity);
+                return id < current.capacity() ? current : current.grow(capacity);
+            });
+        }
+        return bits.test(player, id);
+    }
+
+    public static boolean hasPermission(@NotNull CommandSender sender, @NotNull String permission) {
+        return hasPermission(sender, getId(permission));
+    }
+
+    /**
+     * Drops the cached permissions of a player, for example after their groups changed. Call
+     * {@link Player#updateCommands()} afterwards to resend the command tree.
+     */
+    public static void invalidate(@NotNull Player player) {
+        instance.players.remove(player.getUniqueId());
+    }
+
+    public static void invalidateAll() {
+        instance.players.clear();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onSendCommands(AsyncPlayerSendCommandsEvent<?> event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    private record Bits(int capacity, AtomicLongArray checked, AtomicLongArray granted) {
+        Bits(int capacity) {
+            this(capacity, new AtomicLongArray((capacity + 63) >>> 6), new AtomicLongArray((capacity + 63) >>> 6));
+        }
+
+        /**
+         * A copy with room for more permissions, keeping the checks made so far.
+         */
+        Bits grow(int capacity) {
+            Bits grown = new Bits(capacity);
+            for (int i = 0; i < checked.length(); i++) {
+                grown.checked.set(i, checked.get(i));
+                grown.granted.set(i, granted.get(i));
+            }
+            return grown;
+        }
+
+        boolean test(Player player, int id) {
+            int word = id >>> 6;
+            long bit = 1L << id;
+            if ((checked.get(word) & bit) != 0) {
+                return (granted.get(word) & bit) != 0;
+            }
+
+            boolean value = player.hasPermission(instance.permissions.get(id));
+            if (value) {
+                granted.getAndAccumulate(word, bit, (a, b) -> a | b);
+            }
+            checked.getAndAccumulate(word, bit, (a, b) -> a | b);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import lt.itsvaidas.annotationCommandAPI.enums.SuggestionMatch;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of online player names, maintained from join and quit events. Exact lookups are a hash map read, and name
+ * suggestions come from a {@link SuggestionIndex} rebuilt only after someone joined or left.
+ */
+public final class PlayerIndex implements Listener {
+
+    private static final PlayerIndex instance = new PlayerIndex();
+
+    private final Map<String, Player> players = new ConcurrentHashMap<>();
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile boolean enabled;
+    private volatile Names names;
+
+    private PlayerIndex() {}
+
+    static void enable(@NotNull Plugin plugin) {
+        if (instance.enabled) return;
+
+        Bukkit.getPluginManager().registerEvents(instance, plugin);
+        Bukkit.getOnlinePlayers().forEach(instance::add);
+        instance.enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return instance.enabled;
+    }
+
+    /**
+     * Finds an online player by name, ignoring case. Falls back to the shortest name starting with the input, like
+     * {@link Bukkit#getPlayer(String)} does.
+     */
+    public static @Nullable Player getPlayer(@NotNull String name) {
+        if (!instance.enabled) {
+            return Bukkit.getPlayer(name);
+        }
+
+        String lowerCaseName = name.toLowerCase(Locale.ROOT);
+        Player player = instance.players.get(lowerCaseName);
+        if (player != null) {
+            return player;
+        }
+
+        String[] closest = new String[1];
+        instance.getIndex().forEach(lowerCaseName, Integer.MAX_VALUE, SuggestionMatch.PREFIX, candidate -> {
+            if (closest[0] == null || candidate.length() < closest[0].length()) {
+                closest[0] = candidate;
+            }
+        });
+        return closest[0] != null ? instance.players.get(closest[0].toLowerCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * Returns the online player names as a suggestion index, or {@code null} when the index is not enabled.
+     */
+    public static @Nullable SuggestionIndex getNames() {
+        return instance.enabled ? instance.getIndex() : null;
+    }
+
+    private SuggestionIndex getIndex() {
+        int currentVersion = version.get();
+        Names current = names;
+        if (current == null || current.version() != currentVersion) {
+            current = new Names(SuggestionIndex.of(players.values().stream().map(Player::getName)), currentVersion);
+            names = current;
+        }
+        return current.index();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        players.remove(event.getPlayer().getName().toLowerCase(Locale.ROOT));
+        version.incrementAndGet();
+    }
+
+    private void add(Player player) {
+        players.put(player.getName().toLowerCase(Locale.ROOT), player);
+        version.incrementAndGet();
+    }
+
+    private record Names(SuggestionIndex index, int version) {}
+}
@@ -0,0 +1,86 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import lt.itsvaidas.annotationCommandAPI.dtos.CommandHandler;
+import lt.itsvaidas.annotationCommandAPI.enums.FailureCause;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodType;
+
+/**
+ * A command path with its arguments bound, created through {@link CommandRegister#prepare(String, String, Object...)}.
+ * Executing it goes straight to the handler with the permission, sender type, rate limit and concurrency checks of
+ * the typed command, but without parsing or converting any input.
+ */
+public final class PreparedCommand {
+
+    private final CommandRegister register;
+    private final CommandHandler handler;
+    private final int[] permissions;
+    private final String label;
+    private final Object[] arguments;
+
+    PreparedCommand(CommandRegister register, CommandHandler handler, int[] permissions, String label, Object[] arguments) {
+        int parameters = handler.getParameterCount() - 1;
+        if (arguments.length > parameters) {
+            throw new IllegalArgumentException(label + " takes " + parameters + " arguments, got " + arguments.length);
+        }
+
+        String[] tokens = handler.getPath().name().split(" ");
+        int argument = 0;
+        for (String token : tokens) {
+            if (!token.startsWith("<") && !token.startsWith("[")) continue;
+            if (argument >= arguments.length && token.startsWith("<")) {
+                throw new IllegalArgumentException("Missing required argument " + token + " of " + label);
+            }
+            argument++;
+        }
+
+        for (int i = 0; i < arguments.length; i++) {
+            Class<?> type = handler.getParameterType(i + 1);
+            Object value = arguments[i];
+            if (value == null ? type.isPrimitive() : !MethodType.methodType(type).wrap().returnType().isInstance(value)) {
+                throw new IllegalArgumentException("Argument " + (i + 1) + " of " + label + " must be " + type.getSimpleName() + ", got " + (value == null ? "null" : value.getClass().getSimpleName()));
+            }
+        }
+
+        this.register = register;
+        this.handler = handler;
+        this.permissions = permissions;
+        this.label = label;
+        this.arguments = arguments.clone();
+    }
+
+    /**
+     * Runs the command as the sender. Returns {@code null} once the handler ran or was started, or why it was not.
+     */
+    public @Nullable FailureCause execute(@NotNull CommandSender sender) {
+        return register.execute(this, sender);
+    }
+
+    /**
+     * The command and path this was prepared for, used in log messages.
+     */
+    public @NotNull String getLabel() {
+        return label;
+    }
+
+    CommandHandler getHandler() {
+        return handler;
+    }
+
+    int[] getPermissions() {
+        return permissions;
+    }
+
+    /**
+     * Copies the bound arguments into a fresh parameter array, after the sender.
+     */
+    void bind(Object[] parameters) {
+        System.arraycopy(arguments, 0, parameters, 1, arguments.length);
+        for (int i = arguments.length + 1; i < parameters.length; i++) {
+            parameters[i] = CommandRegister.defaultValue(handler.getParameterType(i));
+        }
+    }
+}
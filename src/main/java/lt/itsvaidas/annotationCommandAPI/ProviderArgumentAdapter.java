@@ -0,0 +1,111 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import lt.itsvaidas.annotationCommandAPI.anotations.Argument;
+import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Takes suggestions from an {@link ArgumentProvider} while leaving parsing to the adapter of the parameter type.
+ * With {@link Argument#cacheTicks()} set, the provided values are kept as a {@link SuggestionIndex} snapshot shared
+ * by every sender until the ticks pass or the provider is invalidated.
+ */
+class ProviderArgumentAdapter<T> implements ArgumentAdapter<T> {
+
+    private final ArgumentAdapter<T> adapter;
+    private final ArgumentProvider provider;
+    private final int cacheTicks;
+    private volatile Snapshot snapshot;
+
+    ProviderArgumentAdapter(ArgumentAdapter<T> adapter, ArgumentProvider provider, int cacheTicks) {
+        this.adapter = adapter;
+        this.provider = provider;
+        this.cacheTicks = cacheTicks;
+    }
+
+    @SuppressWarnings("unchecked")
+    static ArgumentAdapter<?> of(ArgumentAdapter<?> adapter, Argument argument) {
+        return new ProviderArgumentAdapter<>((ArgumentAdapter<Object>) adapter, ArgumentProvider.getInstance(argument.provider()), argument.cacheTicks());
+    }
+
+    @Override
+    public @NotNull ArgumentType<?> getArgumentType() {
+        return adapter.getArgumentType();
+    }
+
+    @Override
+    public T parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+        return adapter.parse(context, argument);
+    }
+
+    @Override
+    public @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+        SuggestionIndex index = getSuggestionIndex(source);
+        return index != null ? index.stream() : provider.provide(source);
+    }
+
+    @Override
+    public @Nullable SuggestionIndex getSuggestionIndex(@NotNull CommandSourceStack source) {
+        SuggestionIndex index = provider.index(source);
+        if (index != null || cacheTicks <= 0) {
+            return index;
+        }
+
+        int tick = Bukkit.getCurrentTick();
+        int generation = provider.getGeneration();
+        Snapshot current = snapshot;
+        if (current == null || current.generation() != generation || tick - current.createdAt() >= cacheTicks) {
+            current = new Snapshot(SuggestionIndex.of(provider.provide(source)), tick, generation);
+            snapshot = current;
+        }
+        return current.index();
+    }
+
+    /**
+     * The provider's static values, converted by the literals of the parameter type or taken as they are for
+     * {@code String} parameters.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable Map<String, T> getLiterals() {
+        Set<String> values = provider.staticValues();
+        if (values == null) {
+            return null;
+        }
+
+        Map<String, T> typed = adapter.getLiterals();
+        if (typed == null && adapter != ArgumentAdapters.get(String.class)) {
+            return null;
+        }
+
+        Map<String, T> literals = new LinkedHashMap<>();
+        for (String value : values) {
+            T literal = typed != null ? typed.get(value) : (T) value;
+            if (literal != null) literals.put(value, literal);
+        }
+        return literals;
+    }
+
+    @Override
+    public @NotNull SuggestionsBuilder getSuggestionBuilder(@NotNull SuggestionsBuilder builder) {
+        return adapter.getSuggestionBuilder(builder);
+    }
+
+    @Override
+    public @Nullable Executor getSuggestionExecutor() {
+        return provider instanceof AsyncArgumentProvider asyncProvider ? asyncProvider.getExecutor() : null;
+    }
+
+    private record Snapshot(SuggestionIndex index, int createdAt, int generation) {}
+}
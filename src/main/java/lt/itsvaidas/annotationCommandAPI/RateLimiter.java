@@ -0,0 +1,90 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-sender token bucket for a single command path, implemented as a generic cell rate algorithm: each sender only
+ * stores the time its next token becomes available, updated with a compare-and-set. Entries whose bucket is full
+ * again carry no information and are swept once the map grows, so players that left are dropped.
+ */
+public final class RateLimiter {
+
+    private static final int sweepThreshold = 1024;
+
+    private final long interval;
+    private final long tolerance;
+    private final Map<UUID, AtomicLong> senders = new ConcurrentHashMap<>();
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    private RateLimiter(long interval, int burst) {
+        this.interval = interval;
+        this.tolerance = interval * (burst - 1);
+    }
+
+    /**
+     * Creates a limiter allowing one execution per {@code cooldown} milliseconds and at most {@code rate}
+     * executions per second, or {@code null} when neither is set.
+     */
+    public static @Nullable RateLimiter of(long cooldown, int rate) {
+        if (cooldown <= 0 && rate <= 0) {
+            return null;
+        }
+
+        long cooldownNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(cooldown, 0));
+        long rateNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        return new RateLimiter(Math.max(cooldownNanos, rateNanos), cooldown > 0 ? 1 : rate);
+    }
+
+    /**
+     * Takes a token for the sender. Returns 0 when the execution is allowed, or the nanoseconds until it would be.
+     * A token taken from an entry the sweep removed meanwhile is taken again from the sender's current entry.
+     */
+    public long tryAcquire(@NotNull UUID sender) {
+        long now = System.nanoTime();
+        while (true) {
+            AtomicLong next = senders.get(sender);
+            if (next == null) {
+                next = senders.computeIfAbsent(sender, key -> new AtomicLong(now));
+                if (insertions.incrementAndGet() % sweepThreshold == 0) {
+                    sweep(now);
+                }
+            }
+
+            long wait = take(next, now);
+            if (wait > 0 || senders.get(sender) == next) {
+                return wait;
+            }
+        }
+    }
+
+    private long take(AtomicLong next, long now) {
+        while (true) {
+            long current = next.get();
+            long available = current - now > 0 ? current : now;
+            if (available - now > tolerance) {
+                return available - tolerance - now;
+            }
+            if (next.compareAndSet(current, available + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    public void reset(@NotNull UUID sender) {
+        senders.remove(sender);
+    }
+
+    private void sweep(long now) {
+        for (UUID sender : senders.keySet()) {
+            senders.computeIfPresent(sender, (key, next) -> next.get() - now <= 0 ? null : next);
+        }
+    }
+}
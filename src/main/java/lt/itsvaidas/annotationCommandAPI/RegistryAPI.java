@@ -1,6 +1,7 @@
 package lt.itsvaidas.annotationCommandAPI;
 
 import io.papermc.paper.datacomponent.DataComponentType;
+import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
 import io.papermc.paper.registry.RegistryAccess;
 import io.papermc.paper.registry.RegistryKey;
 import org.bukkit.*;
@@ -11,6 +12,9 @@ import org.bukkit.block.banner.PatternType;
 import org.bukkit.damage.DamageType;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.*;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServerLoadEvent;
 import org.bukkit.generator.structure.Structure;
 import org.bukkit.generator.structure.StructureType;
 import org.bukkit.inventory.ItemType;
@@ -18,13 +22,14 @@ import org.bukkit.inventory.MenuType;
 import org.bukkit.inventory.meta.trim.TrimMaterial;
 import org.bukkit.inventory.meta.trim.TrimPattern;
 import org.bukkit.map.MapCursor;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.potion.PotionType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RegistryAPI {
 
@@ -60,12 +65,41 @@ public class RegistryAPI {
         put(PotionType.class, RegistryKey.POTION);
     }};
 
+    private static final Map<RegistryKey<?>, Snapshot<?>> snapshots = new ConcurrentHashMap<>();
+    private static volatile boolean watching;
+
+    /**
+     * Drops the snapshots when the server reloads its data packs or plugins, so the next lookup sees entries added
+     * or removed by the reload.
+     */
+    static void watchReloads(@NotNull Plugin plugin) {
+        if (watching) return;
+
+        Bukkit.getPluginManager().registerEvents(new ReloadListener(), plugin);
+        watching = true;
+    }
+
+    /**
+     * Drops every snapshot. They are rebuilt on their next use.
+     */
+    public static void invalidate() {
+        snapshots.clear();
+    }
+
+    /**
+     * Returns the snapshot of a registry, built on first use and kept until the server reloads.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Keyed> @NotNull Snapshot<T> snapshot(RegistryKey<T> registryKey) {
+        return (Snapshot<T>) snapshots.computeIfAbsent(registryKey, k -> new Snapshot<>(RegistryAccess.registryAccess().getRegistry(registryKey)));
+    }
+
     public static <T extends Keyed> @Nullable T tryGet(RegistryKey<T> registryKey, String key) {
-        return RegistryAccess.registryAccess().getRegistry(registryKey).get(NamespacedKey.minecraft(key));
+        return snapshot(registryKey).get(key);
     }
 
     public static <T extends Keyed> Registry<@NotNull T> get(RegistryKey<T> registryKey) {
-        return RegistryAccess.registryAccess().getRegistry(registryKey);
+        return snapshot(registryKey).getRegistry();
     }
 
     public static <T extends Keyed> @NotNull T get(RegistryKey<T> registryKey, String key) {
@@ -77,30 +111,114 @@ public class RegistryAPI {
     }
 
     public static <T extends Keyed> Registry<@NotNull T> get(Class<?> clazz) {
-        RegistryKey<T> registryKey = (RegistryKey<T>) registryKeys.get(clazz);
-        if (registryKey == null) {
-            throw new IllegalArgumentException("No registry key found for class: " + clazz.getName());
-        }
-        return get(registryKey);
+        return RegistryAPI.<T>snapshot(clazz).getRegistry();
     }
 
     public static <T extends Keyed> @Nullable T tryGet(Class<?> clazz, String key) {
-        RegistryKey<T> registryKey = (RegistryKey<T>) registryKeys.get(clazz);
-        if (registryKey == null) {
-            throw new IllegalArgumentException("No registry key found for class: " + clazz.getName());
-        }
-        return tryGet(registryKey, key);
+        return RegistryAPI.<T>snapshot(clazz).get(key);
+    }
+
+    public static <T extends Keyed> @Nullable T tryGet(Class<?> clazz, NamespacedKey key) {
+        return RegistryAPI.<T>snapshot(clazz).get(key);
     }
 
     public static <T extends Keyed> @NotNull T get(Class<?> clazz, String key) {
-        RegistryKey<T> registryKey = (RegistryKey<T>) registryKeys.get(clazz);
+        RegistryKey<T> registryKey = getRegistryKey(clazz);
         if (registryKey == null) {
             throw new IllegalArgumentException("No registry key found for class: " + clazz.getName());
         }
         return get(registryKey, key);
     }
 
+    /**
+     * Returns the suggestion index of a registry's keys.
+     */
+    public static @NotNull SuggestionIndex getSuggestionIndex(Class<?> clazz) {
+        return snapshot(clazz).getKeys();
+    }
+
+    /**
+     * Returns the registry key of a class, or {@code null} when it is not backed by a registry.
+     */
+    public static <T extends Keyed> @Nullable RegistryKey<T> getRegistryKey(Class<?> clazz) {
+        return (RegistryKey<T>) registryKeys.get(clazz);
+    }
+
     public static boolean isRegistered(Class<?> clazz) {
         return registryKeys.containsKey(clazz);
     }
+
+    private static <T extends Keyed> Snapshot<T> snapshot(Class<?> clazz) {
+        RegistryKey<T> registryKey = getRegistryKey(clazz);
+        if (registryKey == null) {
+            throw new IllegalArgumentException("No registry key found for class: " + clazz.getName());
+        }
+        return snapshot(registryKey);
+    }
+
+    /**
+     * The entries of a registry at the time it was taken. Keys are matched ignoring case, either as
+     * {@code namespace:key} or, for {@code minecraft} entries only, as the bare key.
+     */
+    public static final class Snapshot<T extends Keyed> {
+        private final Registry<@NotNull T> registry;
+        private final Map<String, T> values;
+        private final SuggestionIndex keys;
+
+        private Snapshot(Registry<@NotNull T> registry) {
+            this.registry = registry;
+
+            Map<String, T> values = new HashMap<>();
+            List<String> keys = new ArrayList<>();
+            for (T value : registry) {
+                NamespacedKey key = value.getKey();
+                values.put(key.asString().toLowerCase(Locale.ROOT), value);
+                if (key.getNamespace().equals(NamespacedKey.MINECRAFT)) {
+                    values.put(key.getKey().toLowerCase(Locale.ROOT), value);
+                    keys.add(key.getKey());
+                } else {
+                    keys.add(key.asString());
+                }
+            }
+
+            this.values = Map.copyOf(values);
+            this.keys = SuggestionIndex.of(keys);
+        }
+
+        public @Nullable T get(@NotNull String key) {
+            return values.get(key.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Looks the key up in the snapshot rather than the live registry. Namespaced keys are always lower case.
+         */
+        public @Nullable T get(@NotNull NamespacedKey key) {
+            return values.get(key.asString());
+        }
+
+        public @NotNull Registry<@NotNull T> getRegistry() {
+            return registry;
+        }
+
+        /**
+         * The keys, sorted for suggestions. {@code minecraft} entries are listed by their bare key.
+         */
+        public @NotNull SuggestionIndex getKeys() {
+            return keys;
+        }
+    }
+
+    private static final class ReloadListener implements Listener {
+        @EventHandler
+        public void onResourcesReload(ServerResourcesReloadedEvent event) {
+            invalidate();
+        }
+
+        @EventHandler
+        public void onServerLoad(ServerLoadEvent event) {
+            if (event.getType() == ServerLoadEvent.LoadType.RELOAD) {
+                invalidate();
+            }
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import lt.itsvaidas.annotationCommandAPI.anotations.Command;
+import lt.itsvaidas.annotationCommandAPI.anotations.Path;
+import lt.itsvaidas.annotationCommandAPI.dtos.Sentence;
+import lt.itsvaidas.annotationCommandAPI.enums.FailureCause;
+import lt.itsvaidas.annotationCommandAPI.metrics.CommandMetrics;
+import lt.itsvaidas.annotationCommandAPI.metrics.LatencyHistogram;
+import lt.itsvaidas.annotationCommandAPI.metrics.PathMetrics;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+@Command(
+        name = "acapi",
+        description = "AnnotatedCommandAPI tools",
+        permission = "acapi.stats"
+)
+class StatsCommand {
+
+    private static final int shown = 10;
+
+    @Path(
+            name = "stats",
+            description = "Show the command paths with the most dispatch time"
+    )
+    public void stats(CommandSender sender) {
+        List<PathMetrics> paths = CommandMetrics.getPaths().stream()
+                .filter(metrics -> metrics.getExecutions() > 0)
+                .sorted(Comparator.comparingLong((PathMetrics metrics) -> metrics.getDispatchLatency().getTotalNanos()).reversed())
+                .limit(shown)
+                .toList();
+
+        if (paths.isEmpty()) {
+            sender.sendMessage(Component.text("No commands were executed yet.", NamedTextColor.GRAY));
+            return;
+        }
+
+        for (PathMetrics metrics : paths) {
+            LatencyHistogram latency = metrics.getDispatchLatency();
+            sender.sendMessage(Component.text("/" + metrics.getPath(), NamedTextColor.GOLD)
+                    .append(Component.text(" - " + metrics.getExecutions() + " runs, p50 " + millis(latency.getPercentileNanos(50))
+                            + ", p99 " + millis(latency.getPercentileNanos(99)) + ", " + metrics.getFailures() + " failed", NamedTextColor.GRAY)));
+        }
+    }
+
+    @Path(
+            name = "stats <Path>",
+            description = "Show the metrics of command paths matching a search"
+    )
+    public void search(CommandSender sender, Sentence query) {
+        String search = query.toString().toLowerCase(Locale.ROOT);
+        List<PathMetrics> paths = CommandMetrics.getPaths().stream()
+                .filter(metrics -> metrics.getPath().toLowerCase(Locale.ROOT).contains(search))
+                .sorted(Comparator.comparing(PathMetrics::getPath))
+                .limit(shown)
+                .toList();
+
+        if (paths.isEmpty()) {
+            sender.sendMessage(Component.text("No command paths found.", NamedTextColor.GRAY));
+            return;
+        }
+
+        for (PathMetrics metrics : paths) {
+            sender.sendMessage(Component.text("/" + metrics.getPath(), NamedTextColor.GOLD));
+            sender.sendMessage(Component.text("  Runs: " + metrics.getExecutions() + ", dispatch " + latency(metrics.getDispatchLatency()), NamedTextColor.GRAY));
+            sender.sendMessage(Component.text("  Suggestions: " + metrics.getSuggestionLatency().getCount() + ", " + latency(metrics.getSuggestionLatency()), NamedTextColor.GRAY));
+
+            StringBuilder failures = new StringBuilder();
+            for (FailureCause cause : FailureCause.values()) {
+                long count = metrics.getFailures(cause);
+                if (count > 0) {
+                    failures.append(failures.isEmpty() ? "" : ", ").append(cause.name().toLowerCase(Locale.ROOT)).append(' ').append(count);
+                }
+            }
+            if (!failures.isEmpty()) {
+                sender.sendMessage(Component.text("  Failures: " + failures, NamedTextColor.RED));
+            }
+        }
+    }
+
+    private static String latency(LatencyHistogram histogram) {
+        return "mean " + millis(histogram.getMeanNanos()) + ", p50 " + millis(histogram.getPercentileNanos(50))
+                + ", p99 " + millis(histogram.getPercentileNanos(99));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,138 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import lt.itsvaidas.annotationCommandAPI.enums.SuggestionMatch;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, sorted set of suggestion values. Prefix lookups binary search the lower-cased values, so completing
+ * against thousands of entries costs {@code O(log n + k)} without allocating per candidate. Build it once per value
+ * source and rebuild it only when the source changes.
+ */
+public final class SuggestionIndex {
+
+    public static final SuggestionIndex EMPTY = new SuggestionIndex(new String[0], new String[0]);
+
+    private final String[] values;
+    private final String[] lowerCaseValues;
+
+    private SuggestionIndex(String[] values, String[] lowerCaseValues) {
+        this.values = values;
+        this.lowerCaseValues = lowerCaseValues;
+    }
+
+    public static @NotNull SuggestionIndex of(@NotNull Collection<String> values) {
+        return of(values.stream());
+    }
+
+    public static @NotNull SuggestionIndex of(@NotNull Stream<String> values) {
+        Entry[] entries = values.distinct()
+                .map(value -> new Entry(value, value.toLowerCase(Locale.ROOT)))
+                .sorted(Comparator.comparing(Entry::lowerCase))
+                .toArray(Entry[]::new);
+        String[] sorted = new String[entries.length];
+        String[] lowerCase = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            sorted[i] = entries[i].value();
+            lowerCase[i] = entries[i].lowerCase();
+        }
+        return new SuggestionIndex(sorted, lowerCase);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public @NotNull Stream<String> stream() {
+        return Arrays.stream(values);
+    }
+
+    /**
+     * Adds up to {@code limit} values matching the remaining input of the builder.
+     */
+    public void suggest(@NotNull SuggestionsBuilder builder, int limit, @NotNull SuggestionMatch match) {
+        forEach(builder.getRemainingLowerCase(), limit, match, builder::suggest);
+    }
+
+    /**
+     * Passes up to {@code limit} values matching the lower-cased input to the consumer, in sorted order.
+     */
+    public void forEach(@NotNull String lowerCaseInput, int limit, @NotNull SuggestionMatch match, @NotNull Consumer<String> consumer) {
+        int count = 0;
+
+        if (match == SuggestionMatch.PREFIX) {
+            for (int i = lowerBound(lowerCaseInput); i < lowerCaseValues.length && count < limit && lowerCaseValues[i].startsWith(lowerCaseInput); i++, count++) {
+                consumer.accept(values[i]);
+            }
+            return;
+        }
+
+        for (int i = 0; i < lowerCaseValues.length && count < limit; i++) {
+            if (matchesLowerCase(lowerCaseValues[i], lowerCaseInput, match)) {
+                consumer.accept(values[i]);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Checks a single candidate against already lower-cased input, without allocating.
+     */
+    public static boolean matches(@NotNull String candidate, @NotNull String lowerCaseInput, @NotNull SuggestionMatch match) {
+        return switch (match) {
+            case PREFIX -> candidate.regionMatches(true, 0, lowerCaseInput, 0, lowerCaseInput.length());
+            case CONTAINS -> containsIgnoreCase(candidate, lowerCaseInput);
+            case FUZZY -> isSubsequence(candidate, lowerCaseInput);
+        };
+    }
+
+    private static boolean matchesLowerCase(String candidate, String input, SuggestionMatch match) {
+        return switch (match) {
+            case PREFIX -> candidate.startsWith(input);
+            case CONTAINS -> candidate.contains(input);
+            case FUZZY -> isSubsequence(candidate, input);
+        };
+    }
+
+    private static boolean containsIgnoreCase(String candidate, String input) {
+        for (int i = 0; i <= candidate.length() - input.length(); i++) {
+            if (candidate.regionMatches(true, i, input, 0, input.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSubsequence(String candidate, String input) {
+        int j = 0;
+        for (int i = 0; i < candidate.length() && j < input.length(); i++) {
+            if (Character.toLowerCase(candidate.charAt(i)) == input.charAt(j)) {
+                j++;
+            }
+        }
+        return j == input.length();
+    }
+
+    private int lowerBound(String input) {
+        int low = 0;
+        int high = lowerCaseValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowerCaseValues[mid].compareTo(input) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(String value, String lowerCase) {}
+}
@@ -0,0 +1,113 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.context.ParsedArgument;
+import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import lt.itsvaidas.annotationCommandAPI.dtos.Sentence;
+import lt.itsvaidas.annotationCommandAPI.exceptions.CommandExecuteException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Takes the greedy remainder of a command as a {@code List} or array. Every space separated token is parsed by the
+ * adapter of the element type, and suggestions complete the token being typed.
+ */
+class TailArgumentAdapter implements ArgumentAdapter<Object> {
+
+    private final ArgumentAdapter<?> element;
+    private final @Nullable Class<?> arrayComponent;
+
+    private TailArgumentAdapter(ArgumentAdapter<?> element, @Nullable Class<?> arrayComponent) {
+        this.element = element;
+        this.arrayComponent = arrayComponent;
+    }
+
+    static TailArgumentAdapter list(ArgumentAdapter<?> element) {
+        return new TailArgumentAdapter(element, null);
+    }
+
+    static TailArgumentAdapter array(ArgumentAdapter<?> element, Class<?> component) {
+        return new TailArgumentAdapter(element, component);
+    }
+
+    @Override
+    public @NotNull ArgumentType<?> getArgumentType() {
+        return StringArgumentType.greedyString();
+    }
+
+    @Override
+    public Object parse(@NotNull CommandContext<CommandSourceStack> context, @NotNull String argument) throws CommandExecuteException {
+        Sentence tail = new Sentence(context.getArgument(argument, String.class));
+        Sentence.Cursor cursor = tail.cursor();
+        ArgumentType<?> type = element.getArgumentType();
+
+        Object values = arrayComponent != null ? Array.newInstance(arrayComponent, tail.tokenCount()) : null;
+        List<Object> list = arrayComponent == null ? new ArrayList<>(tail.tokenCount()) : null;
+        while (cursor.next()) {
+            String token = cursor.toString();
+            Object parsed;
+            try {
+                StringReader reader = new StringReader(token);
+                parsed = type.parse(reader);
+                if (reader.canRead()) {
+                    throw new CommandExecuteException("'" + token + "' is not a valid value");
+                }
+            } catch (CommandSyntaxException e) {
+                throw new CommandExecuteException("'" + token + "' " + e.getRawMessage().getString());
+            }
+
+            Object value = element.parse(tokenContext(context, argument, token, parsed), argument);
+            if (values != null) {
+                Array.set(values, cursor.index(), value);
+            } else {
+                list.add(value);
+            }
+        }
+        return values != null ? values : Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public @NotNull SuggestionsBuilder getSuggestionBuilder(@NotNull SuggestionsBuilder builder) {
+        int lastSpace = builder.getRemaining().lastIndexOf(' ');
+        return lastSpace < 0 ? builder : builder.createOffset(builder.getStart() + lastSpace + 1);
+    }
+
+    @Override
+    public @NotNull Stream<String> suggest(@NotNull CommandSourceStack source) {
+        return element.suggest(source);
+    }
+
+    @Override
+    public @Nullable SuggestionIndex getSuggestionIndex(@NotNull CommandSourceStack source) {
+        return element.getSuggestionIndex(source);
+    }
+
+    @Override
+    public @Nullable Executor getSuggestionExecutor() {
+        return element.getSuggestionExecutor();
+    }
+
+    /**
+     * A copy of the context holding a single token as the argument, so the element adapter parses it as if it had
+     * been typed on its own.
+     */
+    private static CommandContext<CommandSourceStack> tokenContext(CommandContext<CommandSourceStack> context, String argument, String token, Object parsed) {
+        return new CommandContext<>(context.getSource(), token, Map.of(argument, new ParsedArgument<>(0, token.length(), parsed)),
+                context.getCommand(), context.getRootNode(), context.getNodes(), StringRange.between(0, token.length()),
+                null, context.getRedirectModifier(), context.isForked());
+    }
+}
@@ -0,0 +1,171 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes command executions and suggestion requests to a {@link TrafficRecording} file. Capturing a request only
+ * queues it; a background thread encodes and compresses the queue, and requests are dropped rather than blocking
+ * the server when it falls behind. Every request carries its sender's permissions until the sender was written, so
+ * the order requests reach the queue in does not matter.
+ */
+public final class TrafficRecorder implements Closeable {
+
+    private static final int capacity = 65536;
+    private static final int maxInputLength = 8192;
+
+    private final long start = System.nanoTime();
+    private final DataOutputStream out;
+    private final BlockingQueue<Request> queue = new ArrayBlockingQueue<>(capacity);
+    private final Set<String> writtenSenders = ConcurrentHashMap.newKeySet();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile @Nullable IOException failure;
+
+    private final Map<String, Integer> permissionIds = new HashMap<>();
+    private final Map<String, Integer> senderIds = new HashMap<>();
+
+    TrafficRecorder(@NotNull java.nio.file.Path file) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file))));
+        out.writeInt(TrafficRecording.magic);
+        out.writeShort(TrafficRecording.version);
+        out.writeLong(System.currentTimeMillis());
+
+        this.writer = new Thread(this::write, "AnnotatedCommandAPI Traffic Recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    void record(@NotNull TrafficRecording.Kind kind, @NotNull CommandSender sender, @NotNull String input, long startNanos, long durationNanos) {
+        if (closed) return;
+
+        String name = sender.getName();
+        List<String> granted = null;
+        if (!writtenSenders.contains(name)) {
+            granted = new ArrayList<>();
+            for (String permission : PermissionCache.getPermissions()) {
+                if (sender.hasPermission(permission)) {
+                    granted.add(permission);
+                }
+            }
+        }
+
+        TrafficRecording.SenderType type = sender instanceof Player ? TrafficRecording.SenderType.PLAYER
+                : sender instanceof ConsoleCommandSender ? TrafficRecording.SenderType.CONSOLE
+                : TrafficRecording.SenderType.OTHER;
+        String recorded = input.length() > maxInputLength ? input.substring(0, maxInputLength) : input;
+        if (!queue.offer(new Request(kind, startNanos - start, durationNanos, name, type, granted, recorded))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Requests dropped because the writer fell behind or their sender could not be written.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops recording and finishes the file, waiting for queued requests to be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+
+        IOException error = failure;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void write() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Request request = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (request != null) {
+                    write(request);
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            failure = e;
+            closed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Request request) throws IOException {
+        Integer sender = senderIds.get(request.sender());
+        if (sender == null && request.granted() != null) {
+            List<Integer> granted = new ArrayList<>(request.granted().size());
+            for (String permission : request.granted()) {
+                Integer id = permissionIds.get(permission);
+                if (id == null) {
+                    id = permissionIds.size();
+                    permissionIds.put(permission, id);
+                    out.writeByte(TrafficRecording.permissionRecord);
+                    out.writeUTF(permission);
+                }
+                granted.add(id);
+            }
+
+            sender = senderIds.size();
+            senderIds.put(request.sender(), sender);
+            out.writeByte(TrafficRecording.senderRecord);
+            out.writeUTF(request.sender());
+            out.writeByte(request.type().ordinal());
+            TrafficRecording.writeVarLong(out, granted.size());
+            for (int id : granted) {
+                TrafficRecording.writeVarLong(out, id);
+            }
+            writtenSenders.add(request.sender());
+        }
+        if (sender == null) {
+            dropped.increment();
+            return;
+        }
+
+        out.writeByte(request.kind() == TrafficRecording.Kind.EXECUTE ? TrafficRecording.executeRecord : TrafficRecording.suggestRecord);
+        TrafficRecording.writeVarLong(out, Math.max(request.offset(), 0));
+        TrafficRecording.writeVarLong(out, Math.max(request.duration(), 0));
+        TrafficRecording.writeVarLong(out, sender);
+        out.writeUTF(request.input());
+    }
+
+    private record Request(TrafficRecording.Kind kind, long offset, long duration, String sender, TrafficRecording.SenderType type, @Nullable List<String> granted, String input) {}
+}
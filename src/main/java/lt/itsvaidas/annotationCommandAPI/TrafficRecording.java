@@ -0,0 +1,148 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command traffic written by a {@link TrafficRecorder}: every execution and suggestion request with its input,
+ * sender and duration. Senders are stored once, with the command permissions they had when they first appeared.
+ */
+public final class TrafficRecording {
+
+    static final int magic = 0x41435452;
+    static final int version = 1;
+
+    static final byte permissionRecord = 1;
+    static final byte senderRecord = 2;
+    static final byte executeRecord = 3;
+    static final byte suggestRecord = 4;
+
+    private final long startedAt;
+    private final List<Sender> senders;
+    private final List<Entry> entries;
+
+    private TrafficRecording(long startedAt, List<Sender> senders, List<Entry> entries) {
+        this.startedAt = startedAt;
+        this.senders = List.copyOf(senders);
+        this.entries = List.copyOf(entries);
+    }
+
+    public static @NotNull TrafficRecording read(@NotNull java.nio.file.Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != magic) {
+                throw new IOException("Not a command traffic recording: " + file);
+            }
+            int fileVersion = in.readUnsignedShort();
+            if (fileVersion != version) {
+                throw new IOException("Unsupported command traffic recording version " + fileVersion);
+            }
+            long startedAt = in.readLong();
+
+            List<String> permissions = new ArrayList<>();
+            List<Sender> senders = new ArrayList<>();
+            List<Entry> entries = new ArrayList<>();
+            while (true) {
+                int type = in.read();
+                if (type < 0) break;
+
+                switch (type) {
+                    case permissionRecord -> permissions.add(in.readUTF());
+                    case senderRecord -> {
+                        String name = in.readUTF();
+                        SenderType senderType = SenderType.values()[in.readUnsignedByte()];
+                        int count = readVarInt(in);
+                        Set<String> granted = new HashSet<>(count);
+                        for (int i = 0; i < count; i++) {
+                            granted.add(permissions.get(readVarInt(in)));
+                        }
+                        senders.add(new Sender(name, senderType, Set.copyOf(granted)));
+                    }
+                    case executeRecord, suggestRecord -> {
+                        long offset = readVarLong(in);
+                        long duration = readVarLong(in);
+                        Sender sender = senders.get(readVarInt(in));
+                        String input = in.readUTF();
+                        entries.add(new Entry(type == executeRecord ? Kind.EXECUTE : Kind.SUGGEST, offset, duration, sender, input));
+                    }
+                    default -> throw new IOException("Corrupt command traffic recording, unknown record " + type);
+                }
+            }
+            return new TrafficRecording(startedAt, senders, entries);
+        } catch (EOFException e) {
+            throw new IOException("Truncated command traffic recording: " + file, e);
+        }
+    }
+
+    /**
+     * Epoch milliseconds the recording started at.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public @NotNull List<Sender> getSenders() {
+        return senders;
+    }
+
+    public @NotNull List<Entry> getEntries() {
+        return entries;
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length number");
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    public enum Kind {
+        EXECUTE,
+        SUGGEST,
+    }
+
+    public enum SenderType {
+        CONSOLE,
+        PLAYER,
+        OTHER,
+    }
+
+    /**
+     * A sender of recorded traffic and the command permissions it was granted.
+     */
+    public record Sender(@NotNull String name, @NotNull SenderType type, @NotNull Set<String> permissions) {}
+
+    /**
+     * A recorded request, {@code offsetNanos} after the recording started, that took {@code durationNanos} on the
+     * server.
+     */
+    public record Entry(@NotNull Kind kind, long offsetNanos, long durationNanos, @NotNull Sender sender, @NotNull String input) {}
+}
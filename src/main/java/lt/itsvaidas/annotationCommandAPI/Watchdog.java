@@ -0,0 +1,178 @@
+package lt.itsvaidas.annotationCommandAPI;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reports command handlers and argument providers that run longer than their time budget. Running work is tracked
+ * in a set that a daemon thread polls; once work is over its budget the thread samples the stack of the thread
+ * running it, and the report logged when the work finishes includes that stack. Reports of a path are throttled.
+ * One sampler thread is shared by every register of every plugin. It parks while nothing is watched and is stopped
+ * once {@link #close(Plugin)} was called for every plugin using it, after which the next watched work starts it again.
+ */
+final class Watchdog {
+
+    private static final long pollInterval = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long reportInterval = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Set<Plugin> owners = ConcurrentHashMap.newKeySet();
+    private static final Set<Watch> running = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean idle = new AtomicBoolean();
+    private static volatile @Nullable Thread sampler;
+
+    private final Plugin owner;
+    private final Logger logger;
+    private final Map<String, Throttle> throttles = new ConcurrentHashMap<>();
+
+    Watchdog(@NotNull Plugin owner) {
+        this.owner = owner;
+        this.logger = owner.getLogger();
+        owners.add(owner);
+    }
+
+    /**
+     * Starts watching work on the current thread. The returned watch must be passed to {@link #end(Watch)}.
+     */
+    @NotNull Watch start(@NotNull String path, @NotNull String input, @NotNull String sender, long budgetMillis) {
+        Thread thread = sampler;
+        if (thread == null) {
+            thread = startSampler();
+        }
+
+        long now = System.nanoTime();
+        Watch watch = new Watch(owner, Thread.currentThread(), path, input, sender, TimeUnit.MILLISECONDS.toNanos(budgetMillis), now);
+        running.add(watch);
+        if (idle.get() && idle.compareAndSet(true, false)) {
+            LockSupport.unpark(thread);
+        }
+        return watch;
+    }
+
+    void end(@NotNull Watch watch) {
+        running.remove(watch);
+
+        long elapsed = System.nanoTime() - watch.start;
+        if (elapsed <= watch.budget) return;
+
+        Throttle throttle = throttles.computeIfAbsent(watch.path, key -> new Throttle());
+        long suppressed = throttle.tryReport(System.nanoTime());
+        if (suppressed < 0) return;
+
+        StringBuilder report = new StringBuilder(String.format("Command '%s' run by %s took %.1f ms, over its %d ms budget (path: %s)",
+                watch.input, watch.sender, elapsed / 1_000_000.0, TimeUnit.NANOSECONDS.toMillis(watch.budget), watch.path));
+        if (suppressed > 0) {
+            report.append(", ").append(suppressed).append(" slow executions since the last report");
+        }
+
+        StackTraceElement[] stack = watch.sample;
+        if (stack != null) {
+            report.append("\nSampled stack of ").append(watch.thread.getName()).append(':');
+            for (StackTraceElement element : stack) {
+                report.append("\n\tat ").append(element);
+            }
+        }
+        logger.log(Level.WARNING, report.toString());
+    }
+
+    /**
+     * Forgets the work watched for a plugin that is being disabled, and stops the sampler thread when no other plugin
+     * uses it.
+     */
+    static synchronized void close(@NotNull Plugin plugin) {
+        owners.remove(plugin);
+        running.removeIf(watch -> watch.owner == plugin);
+        if (!owners.isEmpty()) return;
+
+        Thread thread = sampler;
+        if (thread == null) return;
+
+        sampler = null;
+        thread.interrupt();
+    }
+
+    private static synchronized Thread startSampler() {
+        Thread thread = sampler;
+        if (thread != null) return thread;
+
+        thread = new Thread(Watchdog::sample, "AnnotatedCommandAPI Watchdog");
+        thread.setDaemon(true);
+        thread.start();
+        sampler = thread;
+        return thread;
+    }
+
+    private static void sample() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (running.isEmpty()) {
+                idle.set(true);
+                if (running.isEmpty()) {
+                    LockSupport.park();
+                }
+                idle.set(false);
+                continue;
+            }
+
+            long now = System.nanoTime();
+            for (Watch watch : running) {
+                if (watch.sample == null && now - watch.start > watch.budget) {
+                    watch.sample = watch.thread.getStackTrace();
+                }
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    static final class Watch {
+        private final Plugin owner;
+        private final Thread thread;
+        private final String path;
+        private final String input;
+        private final String sender;
+        private final long budget;
+        private final long start;
+        private volatile @Nullable StackTraceElement[] sample;
+
+        private Watch(Plugin owner, Thread thread, String path, String input, String sender, long budget, long start) {
+            this.owner = owner;
+            this.thread = thread;
+            this.path = path;
+            this.input = input;
+            this.sender = sender;
+            this.budget = budget;
+            this.start = start;
+        }
+    }
+
+    private static final class Throttle {
+        private final AtomicLong lastReport = new AtomicLong(System.nanoTime() - reportInterval);
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * Returns how many breaches were suppressed since the last report, or -1 when this one must be suppressed.
+         */
+        long tryReport(long now) {
+            long last = lastReport.get();
+            if (now - last < reportInterval || !lastReport.compareAndSet(last, now)) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
@@ -11,4 +11,10 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Argument {
     Class<? extends ArgumentProvider> provider();
+
+    /**
+     * How many ticks the provided suggestions are reused for before the provider is asked again. A cached snapshot
+     * is shared by all senders, so only cache providers whose values do not depend on the sender.
+     */
+    int cacheTicks() default 0;
 }
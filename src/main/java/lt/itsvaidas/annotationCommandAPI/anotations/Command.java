@@ -1,5 +1,7 @@
 package lt.itsvaidas.annotationCommandAPI.anotations;
 
+import lt.itsvaidas.annotationCommandAPI.enums.ExecutionPolicy;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -12,4 +14,25 @@ public @interface Command {
     String description();
     String[] aliases() default {};
     String permission() default "";
+
+    /**
+     * Default minimum milliseconds between two executions of a path by the same player.
+     */
+    long cooldown() default 0;
+
+    /**
+     * Default maximum executions of a path per second by the same player.
+     */
+    int rate() default 0;
+
+    /**
+     * Milliseconds a path may run on the calling thread before the watchdog reports it, or 0 to never report it.
+     * Negative values use {@link lt.itsvaidas.annotationCommandAPI.CommandRegister#setTimeBudget(long)}.
+     */
+    long budget() default -1;
+
+    /**
+     * Where the paths run on region threaded servers such as Folia.
+     */
+    ExecutionPolicy execution() default ExecutionPolicy.DEFAULT;
 }
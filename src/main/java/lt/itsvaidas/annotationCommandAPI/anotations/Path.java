@@ -1,5 +1,7 @@
 package lt.itsvaidas.annotationCommandAPI.anotations;
 
+import lt.itsvaidas.annotationCommandAPI.enums.ExecutionPolicy;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -11,4 +13,38 @@ public @interface Path {
     String name() default "";
     String permission() default "";
     String description();
+
+    /**
+     * Runs the method off the main thread. Use {@link lt.itsvaidas.annotationCommandAPI.MainThread} to call back
+     * into Bukkit API that must run on the server thread.
+     */
+    boolean async() default false;
+
+    /**
+     * Maximum number of concurrent executions of an async path, or 0 for no limit.
+     */
+    int maxConcurrent() default 0;
+
+    /**
+     * Minimum milliseconds between two executions by the same player. Negative values use the {@link Command}
+     * setting.
+     */
+    long cooldown() default -1;
+
+    /**
+     * Maximum executions per second by the same player. Negative values use the {@link Command} setting.
+     */
+    int rate() default -1;
+
+    /**
+     * Milliseconds the method may run on the calling thread before the watchdog reports it, or 0 to never report
+     * it. Negative values use the {@link Command} setting.
+     */
+    long budget() default -1;
+
+    /**
+     * Where the method runs on region threaded servers such as Folia. {@link ExecutionPolicy#DEFAULT} uses the
+     * {@link Command} setting.
+     */
+    ExecutionPolicy execution() default ExecutionPolicy.DEFAULT;
 }
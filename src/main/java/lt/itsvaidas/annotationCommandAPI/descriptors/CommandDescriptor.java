@@ -0,0 +1,18 @@
+package lt.itsvaidas.annotationCommandAPI.descriptors;
+
+import lt.itsvaidas.annotationCommandAPI.anotations.Command;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Everything {@code CommandRegister} needs to build a command class's tree: its {@link Command} settings and its
+ * {@link lt.itsvaidas.annotationCommandAPI.anotations.Path} methods. Implementations are generated at compile time
+ * by the annotation processor, or built by scanning the class when no generated descriptor is present.
+ */
+public interface CommandDescriptor {
+
+    @NotNull Command getCommand();
+
+    @NotNull List<PathDescriptor> getPaths();
+}
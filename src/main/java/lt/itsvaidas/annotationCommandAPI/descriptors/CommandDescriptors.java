@@ -0,0 +1,109 @@
+package lt.itsvaidas.annotationCommandAPI.descriptors;
+
+import lt.itsvaidas.annotationCommandAPI.anotations.Argument;
+import lt.itsvaidas.annotationCommandAPI.anotations.Command;
+import lt.itsvaidas.annotationCommandAPI.anotations.Path;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the {@link CommandDescriptor} of a command class. A descriptor generated by the annotation processor is
+ * named after the class with a {@value #SUFFIX} suffix and is preferred; without one the class is scanned once.
+ */
+public final class CommandDescriptors {
+
+    public static final String SUFFIX = "$$CommandDescriptor";
+
+    private static final ClassValue<CommandDescriptor> descriptors = new ClassValue<>() {
+        @Override
+        protected CommandDescriptor computeValue(@NotNull Class<?> type) {
+            CommandDescriptor generated = loadGenerated(type);
+            return generated != null ? generated : scan(type);
+        }
+    };
+
+    private CommandDescriptors() {}
+
+    /**
+     * Returns the descriptor of a class annotated with {@link Command}, or {@code null} when it is not a command.
+     */
+    public static @Nullable CommandDescriptor of(@NotNull Class<?> type) {
+        if (!type.isAnnotationPresent(Command.class)) {
+            return null;
+        }
+        return descriptors.get(type);
+    }
+
+    private static @Nullable CommandDescriptor loadGenerated(Class<?> type) {
+        try {
+            Class<?> generated = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+            return (CommandDescriptor) generated.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load generated descriptor of " + type.getName(), e);
+        }
+    }
+
+    private static CommandDescriptor scan(Class<?> type) {
+        Command command = type.getAnnotation(Command.class);
+        List<PathDescriptor> paths = new ArrayList<>();
+
+        for (Method method : type.getDeclaredMethods()) {
+            Path path = method.getAnnotation(Path.class);
+            if (path == null) continue;
+
+            List<ParameterDescriptor> parameters = new ArrayList<>();
+            for (Parameter parameter : method.getParameters()) {
+                parameters.add(new ParameterDescriptor(parameter.getName(), parameter.getType(), elementType(parameter), parameter.getAnnotation(Argument.class)));
+            }
+
+            paths.add(new PathDescriptor(type.getSimpleName() + "#" + method.getName(), path, parameters, invoker(method)));
+        }
+
+        List<PathDescriptor> scanned = List.copyOf(paths);
+        return new CommandDescriptor() {
+            @Override
+            public @NotNull Command getCommand() {
+                return command;
+            }
+
+            @Override
+            public @NotNull List<PathDescriptor> getPaths() {
+                return scanned;
+            }
+        };
+    }
+
+    private static @Nullable Class<?> elementType(Parameter parameter) {
+        if (parameter.getType().isArray()) {
+            return parameter.getType().getComponentType();
+        }
+        if (parameter.getType() == List.class && parameter.getParameterizedType() instanceof ParameterizedType type
+                && type.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return null;
+    }
+
+    private static PathDescriptor.Invoker invoker(Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            return (instance, parameters) -> (Object) handle.invokeExact(instance, parameters);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access command method: " + method, e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package lt.itsvaidas.annotationCommandAPI.descriptors;
+
+import lt.itsvaidas.annotationCommandAPI.anotations.Argument;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class ParameterDescriptor {
+    private final @NotNull String name;
+    private final @NotNull Class<?> type;
+    private final @Nullable Class<?> elementType;
+    private final @Nullable Argument argument;
+
+    public ParameterDescriptor(@NotNull String name, @NotNull Class<?> type, @Nullable Argument argument) {
+        this(name, type, null, argument);
+    }
+
+    public ParameterDescriptor(@NotNull String name, @NotNull Class<?> type, @Nullable Class<?> elementType, @Nullable Argument argument) {
+        this.name = name;
+        this.type = type;
+        this.elementType = elementType;
+        this.argument = argument;
+    }
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    public @NotNull Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * The element type of a {@code List} or array parameter, or {@code null} for other types.
+     */
+    public @Nullable Class<?> getElementType() {
+        return elementType;
+    }
+
+    public @Nullable Argument getArgument() {
+        return argument;
+    }
+}
@@ -0,0 +1,47 @@
+package lt.itsvaidas.annotationCommandAPI.descriptors;
+
+import lt.itsvaidas.annotationCommandAPI.anotations.Path;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public class PathDescriptor {
+    private final @NotNull String name;
+    private final @NotNull Path path;
+    private final @NotNull List<ParameterDescriptor> parameters;
+    private final @NotNull Invoker invoker;
+
+    public PathDescriptor(@NotNull String name, @NotNull Path path, @NotNull List<ParameterDescriptor> parameters, @NotNull Invoker invoker) {
+        this.name = name;
+        this.path = path;
+        this.parameters = List.copyOf(parameters);
+        this.invoker = invoker;
+    }
+
+    /**
+     * The declaring class and method, used in log messages.
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    public @NotNull Path getPath() {
+        return path;
+    }
+
+    public @NotNull List<ParameterDescriptor> getParameters() {
+        return parameters;
+    }
+
+    public @NotNull Invoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Calls the method, returning its result or {@code null} for {@code void} methods.
+     */
+    @FunctionalInterface
+    public interface Invoker {
+        Object invoke(@NotNull Object instance, Object[] parameters) throws Throwable;
+    }
+}
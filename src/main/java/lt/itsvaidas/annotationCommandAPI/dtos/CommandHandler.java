@@ -0,0 +1,173 @@
+package lt.itsvaidas.annotationCommandAPI.dtos;
+
+import lt.itsvaidas.annotationCommandAPI.ArgumentAdapter;
+import lt.itsvaidas.annotationCommandAPI.ArgumentAdapters;
+import lt.itsvaidas.annotationCommandAPI.RateLimiter;
+import lt.itsvaidas.annotationCommandAPI.anotations.Command;
+import lt.itsvaidas.annotationCommandAPI.anotations.Path;
+import lt.itsvaidas.annotationCommandAPI.descriptors.ParameterDescriptor;
+import lt.itsvaidas.annotationCommandAPI.descriptors.PathDescriptor;
+import lt.itsvaidas.annotationCommandAPI.enums.ExecutionPolicy;
+import lt.itsvaidas.annotationCommandAPI.metrics.CommandMetrics;
+import lt.itsvaidas.annotationCommandAPI.metrics.PathMetrics;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A {@link Path} method prepared once at registration: its invoker bound to the command instance, together with
+ * the parameter names and {@link ArgumentAdapter}s dispatch needs, so executing a command needs no reflection or
+ * type lookups.
+ */
+public class CommandHandler {
+    private final @NotNull Object instance;
+    private final @NotNull String name;
+    private final @NotNull Path path;
+    private final @NotNull PathDescriptor.Invoker invoker;
+    private final @NotNull Class<?>[] parameterTypes;
+    private final @NotNull String[] parameterNames;
+    private final @NotNull ArgumentAdapter<?>[] adapters;
+    private final @Nullable Semaphore permits;
+    private final @Nullable RateLimiter rateLimiter;
+    private final @NotNull PathMetrics metrics;
+    private final long timeBudget;
+    private final @NotNull ExecutionPolicy execution;
+    private final int regionArgument;
+
+    private CommandHandler(@NotNull Object instance, @NotNull Command command, @NotNull PathDescriptor descriptor, boolean nativeTypes) {
+        this.instance = instance;
+        this.name = descriptor.getName();
+        this.path = descriptor.getPath();
+        this.invoker = descriptor.getInvoker();
+        this.permits = path.async() && path.maxConcurrent() > 0 ? new Semaphore(path.maxConcurrent()) : null;
+
+        long cooldown = path.cooldown() >= 0 ? path.cooldown() : command.cooldown();
+        int rate = path.rate() >= 0 ? path.rate() : command.rate();
+        this.rateLimiter = RateLimiter.of(cooldown, rate);
+        this.timeBudget = path.budget() >= 0 ? path.budget() : command.budget();
+        this.metrics = CommandMetrics.forPath(path.name().isEmpty() ? command.name() : command.name() + " " + path.name());
+
+        List<ParameterDescriptor> parameters = descriptor.getParameters();
+        this.parameterTypes = new Class<?>[parameters.size()];
+        this.parameterNames = new String[parameters.size()];
+        this.adapters = new ArgumentAdapter<?>[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            this.parameterTypes[i] = parameters.get(i).getType();
+            this.parameterNames[i] = parameters.get(i).getName();
+            if (i > 0) {
+                this.adapters[i] = ArgumentAdapters.get(parameterTypes[i], parameters.get(i).getElementType(), nativeTypes);
+            }
+        }
+
+        this.execution = path.execution() != ExecutionPolicy.DEFAULT ? path.execution() : command.execution();
+        this.regionArgument = execution == ExecutionPolicy.ARGUMENT ? regionArgument(parameterTypes) : -1;
+        if (execution == ExecutionPolicy.ARGUMENT && regionArgument < 0) {
+            throw new IllegalArgumentException(name + " runs on the region of its argument but takes no Entity, Location or World argument");
+        }
+    }
+
+    public static @NotNull CommandHandler compile(@NotNull Object instance, @NotNull Command command, @NotNull PathDescriptor descriptor) {
+        return compile(instance, command, descriptor, false);
+    }
+
+    /**
+     * Compiles a handler, resolving its adapters with {@link ArgumentAdapters#get(Class, Class, boolean)}.
+     */
+    public static @NotNull CommandHandler compile(@NotNull Object instance, @NotNull Command command, @NotNull PathDescriptor descriptor, boolean nativeTypes) {
+        return new CommandHandler(instance, command, descriptor, nativeTypes);
+    }
+
+    /**
+     * The declaring class and method, used in log messages.
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    public @NotNull Path getPath() {
+        return path;
+    }
+
+    public int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    public @NotNull Class<?> getParameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    public @NotNull String getParameterName(int index) {
+        return parameterNames[index];
+    }
+
+    public @NotNull ArgumentAdapter<?> getAdapter(int index) {
+        return adapters[index];
+    }
+
+    public @Nullable RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Milliseconds the path may run before the watchdog reports it, 0 when it is never reported, or negative when
+     * the register's default applies.
+     */
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public @NotNull ExecutionPolicy getExecution() {
+        return execution;
+    }
+
+    /**
+     * The index of the parameter whose region an {@link ExecutionPolicy#ARGUMENT} path runs on, or -1.
+     */
+    public int getRegionArgument() {
+        return regionArgument;
+    }
+
+    public @NotNull PathMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isAsync() {
+        return path.async();
+    }
+
+    /**
+     * Claims one of the concurrent execution slots of an async path. Every successful call must be paired with
+     * {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        return permits == null || permits.tryAcquire();
+    }
+
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private static int regionArgument(Class<?>[] parameterTypes) {
+        for (int i = 1; i < parameterTypes.length; i++) {
+            Class<?> type = parameterTypes[i];
+            if (Entity.class.isAssignableFrom(type) || type == Location.class || type == World.class) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calls the method, returning its result or {@code null} for {@code void} methods.
+     */
+    public Object invoke(Object[] parameters) throws Throwable {
+        return invoker.invoke(instance, parameters);
+    }
+}
@@ -1,11 +1,11 @@
 package lt.itsvaidas.annotationCommandAPI.dtos;
 
+import lt.itsvaidas.annotationCommandAPI.ArgumentAdapter;
+import lt.itsvaidas.annotationCommandAPI.descriptors.ParameterDescriptor;
 import lt.itsvaidas.annotationCommandAPI.enums.PathType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.Map;
 
 public class PathSegment {
@@ -13,17 +13,19 @@ public class PathSegment {
     private final @Nullable String argument;
     private final @NotNull PathType pathType;
     private final @NotNull Map<String, PathSegment> subCommands;
-    private final @Nullable Parameter parameter;
+    private final @Nullable ParameterDescriptor parameter;
+    private final @Nullable ArgumentAdapter<?> adapter;
     private final @NotNull Object clazz;
     private final @Nullable String permission;
-    private @Nullable Method method;
+    private @Nullable CommandHandler handler;
 
-    public PathSegment(@NotNull String name, @Nullable String argument, @NotNull PathType pathType, @NotNull Map<String, PathSegment> subCommands, @Nullable Parameter parameter, @NotNull Object clazz, @Nullable String permission) {
+    public PathSegment(@NotNull String name, @Nullable String argument, @NotNull PathType pathType, @NotNull Map<String, PathSegment> subCommands, @Nullable ParameterDescriptor parameter, @Nullable ArgumentAdapter<?> adapter, @NotNull Object clazz, @Nullable String permission) {
         this.name = name;
         this.argument = argument;
         this.pathType = pathType;
         this.subCommands = subCommands;
         this.parameter = parameter;
+        this.adapter = adapter;
         this.clazz = clazz;
         this.permission = permission;
     }
@@ -44,10 +46,14 @@ public class PathSegment {
         return subCommands;
     }
 
-    public @Nullable Parameter getParameter() {
+    public @Nullable ParameterDescriptor getParameter() {
         return parameter;
     }
 
+    public @Nullable ArgumentAdapter<?> getAdapter() {
+        return adapter;
+    }
+
     public @NotNull Object getClazz() {
         return clazz;
     }
@@ -56,12 +62,12 @@ public class PathSegment {
         return permission;
     }
 
-    public @Nullable Method getMethod() {
-        return method;
+    public @Nullable CommandHandler getHandler() {
+        return handler;
     }
 
-    public PathSegment setMethod(@Nullable Method method) {
-        this.method = method;
+    public PathSegment setHandler(@Nullable CommandHandler handler) {
+        this.handler = handler;
 
         return this;
     }
@@ -5,47 +5,63 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.stream.IntStream;
 
+/**
+ * The greedy remainder of a command. Its space separated tokens are located once, on first use, and shared with
+ * every {@link #tokens(int, int)} view, so reading tokens never copies or re-scans the input.
+ */
 public class Sentence implements CharSequence {
 
     private final @Nullable String sentence;
+    private final int start;
+    private final int end;
+    private int[] offsets;
+    private int firstToken;
+    private int tokenCount = -1;
 
     public Sentence(@Nullable String sentence) {
+        this(sentence, 0, sentence != null ? sentence.length() : 0);
+    }
+
+    private Sentence(@Nullable String sentence, int start, int end) {
         this.sentence = sentence;
+        this.start = start;
+        this.end = end;
     }
 
     @Override
     public int length() {
-        return sentence != null ? sentence.length() : 0;
+        return end - start;
     }
 
     @Override
     public char charAt(int index) {
-        return sentence != null ? sentence.charAt(index) : '\0';
+        return sentence != null ? sentence.charAt(start + index) : '\0';
     }
 
     @Override
     public boolean isEmpty() {
-        return sentence == null || sentence.isEmpty();
+        return sentence == null || start == end;
     }
 
     @Override
     public @NotNull CharSequence subSequence(int start, int end) {
-        return sentence != null ? sentence.subSequence(start, end) : "";
+        return sentence != null ? new Sentence(sentence, this.start + start, this.start + end) : "";
     }
 
     @Override
     public @NotNull String toString() {
-        return sentence != null ? sentence : "";
+        if (sentence == null) return "";
+        return start == 0 && end == sentence.length() ? sentence : sentence.substring(start, end);
     }
 
     @Override
     public @NotNull IntStream chars() {
-        return sentence != null ? sentence.chars() : IntStream.empty();
+        return sentence != null ? toString().chars() : IntStream.empty();
     }
 
     @Override
     public @NotNull IntStream codePoints() {
-        return sentence != null ? sentence.codePoints() : IntStream.empty();
+        return sentence != null ? toString().codePoints() : IntStream.empty();
     }
 
     @Override
@@ -53,19 +69,188 @@ public class Sentence implements CharSequence {
         if (this == obj) return true;
         if (obj == null && sentence == null) return true;
         if (obj instanceof String string) {
-            return sentence != null && sentence.equals(string);
+            return sentence != null && contentEquals(string);
         } else if (obj instanceof Sentence otherSentence) {
-            return sentence != null && sentence.equals(otherSentence.sentence);
+            return sentence != null && otherSentence.sentence != null && contentEquals(otherSentence);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return sentence != null ? sentence.hashCode() : 0;
+        if (sentence == null) return 0;
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + sentence.charAt(i);
+        }
+        return hash;
+    }
+
+    private boolean contentEquals(CharSequence other) {
+        if (other.length() != length()) return false;
+        for (int i = 0; i < other.length(); i++) {
+            if (sentence.charAt(start + i) != other.charAt(i)) return false;
+        }
+        return true;
     }
 
     public String[] split(String regex) {
-        return sentence != null ? sentence.split(regex) : new String[0];
+        return sentence != null ? toString().split(regex) : new String[0];
+    }
+
+    /**
+     * The number of space separated tokens.
+     */
+    public int tokenCount() {
+        tokenize();
+        return tokenCount;
+    }
+
+    /**
+     * Returns a token as a new string. Use {@link #cursor()} to read tokens without allocating.
+     */
+    public @NotNull String token(int index) {
+        tokenize();
+        checkToken(index, tokenCount);
+        return sentence.substring(offsets[2 * (firstToken + index)], offsets[2 * (firstToken + index) + 1]);
+    }
+
+    /**
+     * Returns the tokens from {@code from}, inclusive, to {@code to}, exclusive, as a view sharing this sentence's
+     * input and token offsets.
+     */
+    public @NotNull Sentence tokens(int from, int to) {
+        tokenize();
+        if (from < 0 || to > tokenCount || from > to) {
+            throw new IndexOutOfBoundsException("Token range " + from + " to " + to + " of " + tokenCount);
+        }
+        if (from == to) {
+            return new Sentence("");
+        }
+
+        Sentence view = new Sentence(sentence, offsets[2 * (firstToken + from)], offsets[2 * (firstToken + to - 1) + 1]);
+        view.offsets = offsets;
+        view.firstToken = firstToken + from;
+        view.tokenCount = to - from;
+        return view;
+    }
+
+    /**
+     * Returns a cursor over the tokens. The cursor is itself the current token, so iterating allocates nothing.
+     */
+    public @NotNull Cursor cursor() {
+        tokenize();
+        return new Cursor();
+    }
+
+    private void tokenize() {
+        if (tokenCount >= 0) return;
+
+        int count = 0;
+        int[] found = new int[8];
+        if (sentence != null) {
+            int i = start;
+            while (i < end) {
+                while (i < end && sentence.charAt(i) == ' ') i++;
+                if (i == end) break;
+
+                int tokenStart = i;
+                while (i < end && sentence.charAt(i) != ' ') i++;
+
+                if (2 * count + 1 >= found.length) {
+                    int[] grown = new int[found.length * 2];
+                    System.arraycopy(found, 0, grown, 0, found.length);
+                    found = grown;
+                }
+                found[2 * count] = tokenStart;
+                found[2 * count + 1] = i;
+                count++;
+            }
+        }
+
+        offsets = found;
+        firstToken = 0;
+        tokenCount = count;
+    }
+
+    private static void checkToken(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Token " + index + " of " + count);
+        }
+    }
+
+    /**
+     * Moves over the tokens of a {@link Sentence}. After {@link #next()} returns {@code true} the cursor reads as the
+     * current token.
+     */
+    public final class Cursor implements CharSequence {
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 >= tokenCount) {
+                index = tokenCount;
+                return false;
+            }
+            index++;
+            return true;
+        }
+
+        /**
+         * The index of the current token.
+         */
+        public int index() {
+            return index;
+        }
+
+        public void reset() {
+            index = -1;
+        }
+
+        private int tokenStart() {
+            checkToken(index, tokenCount);
+            return offsets[2 * (firstToken + index)];
+        }
+
+        private int tokenEnd() {
+            return offsets[2 * (firstToken + index) + 1];
+        }
+
+        @Override
+        public int length() {
+            return tokenEnd() - tokenStart();
+        }
+
+        @Override
+        public char charAt(int position) {
+            return sentence.charAt(tokenStart() + position);
+        }
+
+        @Override
+        public @NotNull CharSequence subSequence(int start, int end) {
+            int tokenStart = tokenStart();
+            return new Sentence(sentence, tokenStart + start, tokenStart + end);
+        }
+
+        public boolean contentEquals(@NotNull CharSequence other) {
+            int tokenStart = tokenStart();
+            int length = tokenEnd() - tokenStart;
+            if (other.length() != length) return false;
+            for (int i = 0; i < length; i++) {
+                if (sentence.charAt(tokenStart + i) != other.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        public boolean equalsIgnoreCase(@NotNull String other) {
+            int tokenStart = tokenStart();
+            int length = tokenEnd() - tokenStart;
+            return other.length() == length && sentence.regionMatches(true, tokenStart, other, 0, length);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return sentence.substring(tokenStart(), tokenEnd());
+        }
     }
 }
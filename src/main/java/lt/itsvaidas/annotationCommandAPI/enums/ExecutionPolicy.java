@@ -0,0 +1,25 @@
+package lt.itsvaidas.annotationCommandAPI.enums;
+
+/**
+ * Where a command method runs on servers that tick regions on separate threads, such as Folia. On Paper every
+ * policy runs on the main thread.
+ */
+public enum ExecutionPolicy {
+    /**
+     * On a path, the setting of its command. On a command, the thread the command was dispatched on.
+     */
+    DEFAULT,
+    /**
+     * On the scheduler of the sender entity, or on the global region for the console and other senders.
+     */
+    SENDER,
+    /**
+     * On the region owning the first {@code Entity}, {@code Location} or {@code World} argument, using the spawn
+     * of a world. Falls back to {@link #SENDER} when the argument is omitted.
+     */
+    ARGUMENT,
+    /**
+     * On the global region.
+     */
+    GLOBAL,
+}
@@ -0,0 +1,12 @@
+package lt.itsvaidas.annotationCommandAPI.enums;
+
+public enum FailureCause {
+    INVALID_ARGUMENT,
+    NO_PERMISSION,
+    PLAYER_ONLY,
+    RATE_LIMITED,
+    CONCURRENCY_LIMIT,
+    ARGUMENT_RESOLUTION,
+    COMMAND_ERROR,
+    EXCEPTION,
+}
@@ -0,0 +1,7 @@
+package lt.itsvaidas.annotationCommandAPI.enums;
+
+public enum SuggestionMatch {
+    PREFIX,
+    CONTAINS,
+    FUZZY,
+}
@@ -1,7 +1,11 @@
 package lt.itsvaidas.annotationCommandAPI.exceptions;
 
+/**
+ * An error shown to the sender as is, such as an invalid argument. It is thrown for routine mistyped input, so it
+ * carries no stack trace.
+ */
 public class CommandExecuteException extends Exception {
     public CommandExecuteException(String s) {
-        super(s);
+        super(s, null, false, false);
     }
 }
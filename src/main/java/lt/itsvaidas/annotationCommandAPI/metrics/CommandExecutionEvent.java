@@ -0,0 +1,23 @@
+package lt.itsvaidas.annotationCommandAPI.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("lt.itsvaidas.annotationCommandAPI.CommandExecution")
+@Label("Command Execution")
+@Category({"AnnotatedCommandAPI"})
+@Description("Dispatch of a command path, from parsing its arguments to the method returning or being scheduled")
+public final class CommandExecutionEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Sender")
+    public String sender;
+
+    @Label("Failure")
+    public String failure;
+}
@@ -0,0 +1,50 @@
+package lt.itsvaidas.annotationCommandAPI.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of every registered command path. Recording is off until {@link #enable()} is called; command dispatch
+ * and suggestions are also emitted as JFR events whenever a flight recording enables them.
+ */
+public final class CommandMetrics {
+
+    private static final Map<String, PathMetrics> paths = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    private CommandMetrics() {}
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the metrics of a path, creating them on first use. Paths are keyed by their full label, such as
+     * {@code tpw load <World>}.
+     */
+    public static @NotNull PathMetrics forPath(@NotNull String path) {
+        PathMetrics metrics = paths.get(path);
+        return metrics != null ? metrics : paths.computeIfAbsent(path, PathMetrics::new);
+    }
+
+    public static @Nullable PathMetrics get(@NotNull String path) {
+        return paths.get(path);
+    }
+
+    public static @NotNull Collection<PathMetrics> getPaths() {
+        return Collections.unmodifiableCollection(paths.values());
+    }
+
+    public static void reset() {
+        paths.values().forEach(PathMetrics::reset);
+    }
+}
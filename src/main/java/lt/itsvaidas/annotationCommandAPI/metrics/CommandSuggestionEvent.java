@@ -0,0 +1,20 @@
+package lt.itsvaidas.annotationCommandAPI.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("lt.itsvaidas.annotationCommandAPI.CommandSuggestion")
+@Label("Command Suggestion")
+@Category({"AnnotatedCommandAPI"})
+@Description("Suggestions computed for a command argument")
+public final class CommandSuggestionEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Sender")
+    public String sender;
+}
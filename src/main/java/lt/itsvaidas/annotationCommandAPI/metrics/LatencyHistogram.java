@@ -0,0 +1,78 @@
+package lt.itsvaidas.annotationCommandAPI.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with one bucket per power of two nanoseconds. Recording is a single atomic increment, and
+ * percentiles are reported as the upper bound of their bucket, so they are accurate to a factor of two.
+ */
+public final class LatencyHistogram {
+
+    private static final int buckets = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(buckets);
+    private final LongAdder total = new LongAdder();
+
+    public void record(long nanos) {
+        counts.incrementAndGet(bucket(nanos));
+        total.add(Math.max(nanos, 0));
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    public long getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : total.sum() / count;
+    }
+
+    /**
+     * Returns the upper bound in nanoseconds of the bucket holding the given percentile, from 0 to 100.
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] snapshot = new long[buckets];
+        long count = 0;
+        for (int i = 0; i < buckets; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(rank, 1)) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(buckets - 1);
+    }
+
+    void reset() {
+        for (int i = 0; i < buckets; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+    }
+
+    private static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(nanos), buckets - 1);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : 1L << bucket;
+    }
+}
@@ -0,0 +1,81 @@
+package lt.itsvaidas.annotationCommandAPI.metrics;
+
+import lt.itsvaidas.annotationCommandAPI.enums.FailureCause;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latencies of a single command path: how often it was dispatched, how long dispatching and
+ * suggesting its arguments took, and why executions failed.
+ */
+public final class PathMetrics {
+
+    private static final FailureCause[] causes = FailureCause.values();
+
+    private final @NotNull String path;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder[] failures = new LongAdder[causes.length];
+    private final LatencyHistogram dispatchLatency = new LatencyHistogram();
+    private final LatencyHistogram suggestionLatency = new LatencyHistogram();
+
+    PathMetrics(@NotNull String path) {
+        this.path = path;
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    public void recordExecution(long nanos) {
+        executions.increment();
+        dispatchLatency.record(nanos);
+    }
+
+    public void recordSuggestion(long nanos) {
+        suggestionLatency.record(nanos);
+    }
+
+    public void recordFailure(@NotNull FailureCause cause) {
+        failures[cause.ordinal()].increment();
+    }
+
+    /**
+     * The command label and path, e.g. {@code tpw load <World>}.
+     */
+    public @NotNull String getPath() {
+        return path;
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getFailures(@NotNull FailureCause cause) {
+        return failures[cause.ordinal()].sum();
+    }
+
+    public long getFailures() {
+        long total = 0;
+        for (LongAdder failure : failures) {
+            total += failure.sum();
+        }
+        return total;
+    }
+
+    public @NotNull LatencyHistogram getDispatchLatency() {
+        return dispatchLatency;
+    }
+
+    public @NotNull LatencyHistogram getSuggestionLatency() {
+        return suggestionLatency;
+    }
+
+    void reset() {
+        executions.reset();
+        for (LongAdder failure : failures) {
+            failure.reset();
+        }
+        dispatchLatency.reset();
+        suggestionLatency.reset();
+    }
+}